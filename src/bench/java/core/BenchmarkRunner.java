@@ -0,0 +1,150 @@
+package core;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+	private static final String RESULT_FILE = "target/jmh-result.json";
+	private static final String CSV_FILE = "target/jmh-baseline.csv";
+	private static final String BASELINE_FILE = "src/bench/resources/baseline.csv";
+	private static final String ALLOCATION = "gc.alloc.rate.norm";
+	
+	/**************
+	 * Purpose:  Run every benchmark in the project, or the ones
+	 * 		picked with the usual JMH command line options. Allocation
+	 * 		is always measured, as bytes per operation. The scores are
+	 * 		saved to target/jmh-baseline.csv, and compared against the
+	 * 		baseline given by -Dbaseline (src/bench/resources/baseline.csv
+	 * 		by default). Copy the csv over the baseline to update it.
+	 **************/
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+		CommandLineOptions options = new CommandLineOptions(args);
+		ChainedOptionsBuilder builder = new OptionsBuilder()
+				.parent(options)
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(RESULT_FILE);
+		
+		if (options.getIncludes().isEmpty()) {
+			builder.include("core\\..*Benchmarks");
+		}
+		
+		new File(CSV_FILE).getParentFile().mkdirs();
+		
+		Collection<RunResult> results = new Runner(builder.build()).run();
+		Map<String, double[]> scores = new LinkedHashMap<String, double[]>();
+		
+		for (RunResult result : results) {
+			Result allocation = result.getSecondaryResults().get(ALLOCATION);
+			
+			scores.put(label(result.getParams()), new double[] {
+				result.getPrimaryResult().getScore(),
+				allocation == null ? Double.NaN : allocation.getScore()
+			});
+		}
+		
+		write(scores, CSV_FILE);
+		compare(scores, read(System.getProperty("baseline", BASELINE_FILE)));
+	}
+	
+	
+	/**************
+	 * Purpose:  The benchmark's short name followed by any
+	 * 		parameters, e.g. ConsoleIOBenchmarks.readInputFile:repeats=1
+	 **************/
+	private static String label(BenchmarkParams params) {
+		String benchmark = params.getBenchmark();
+		StringBuilder label = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+		
+		for (String key : params.getParamsKeys()) {
+			label.append(':').append(key).append('=').append(params.getParam(key));
+		}
+		
+		return label.toString();
+	}
+	
+	
+	private static void write(Map<String, double[]> scores, String filePath) throws IOException {
+		try (PrintWriter writer = new PrintWriter(new FileWriter(filePath))) {
+			writer.println("benchmark,ops,bytesPerOp");
+			
+			for (Map.Entry<String, double[]> score : scores.entrySet()) {
+				writer.println(score.getKey() + "," + score.getValue()[0] + "," + score.getValue()[1]);
+			}
+		}
+	}
+	
+	
+	private static Map<String, double[]> read(String filePath) throws IOException {
+		Map<String, double[]> scores = new LinkedHashMap<String, double[]>();
+		File file = new File(filePath);
+		
+		if (!file.isFile()) {
+			return scores;
+		}
+		
+		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+			String line = reader.readLine();
+			
+			while ((line = reader.readLine()) != null) {
+				String[] columns = line.split(",");
+				
+				if (columns.length == 3) {
+					scores.put(columns[0], new double[] {Double.parseDouble(columns[1]), Double.parseDouble(columns[2])});
+				}
+			}
+		}
+		
+		return scores;
+	}
+	
+	
+	/**************
+	 * Purpose:  Print each benchmark's throughput and allocation
+	 * 		next to the baseline. A ratio above 1 means faster than
+	 * 		the baseline.
+	 **************/
+	private static void compare(Map<String, double[]> scores, Map<String, double[]> baseline) {
+		if (baseline.isEmpty()) {
+			System.out.println("No baseline to compare against.");
+			return;
+		}
+		
+		System.out.println();
+		System.out.println(String.format("%-50s %14s %14s %8s %12s %12s", 
+				"Benchmark", "Baseline", "Score", "Ratio", "Base B/op", "B/op"));
+		
+		for (Map.Entry<String, double[]> score : scores.entrySet()) {
+			double[] current = score.getValue();
+			double[] before = baseline.get(score.getKey());
+			
+			if (before == null) {
+				System.out.println(String.format("%-50s %14s %14.3f %8s %12s %12.1f", 
+						score.getKey(), "-", current[0], "new", "-", current[1]));
+			}
+			else {
+				System.out.println(String.format("%-50s %14.3f %14.3f %8.2f %12.1f %12.1f", 
+						score.getKey(), before[0], current[0], current[0] / before[0], before[1], current[1]));
+			}
+		}
+	}
+}
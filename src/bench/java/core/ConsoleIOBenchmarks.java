@@ -0,0 +1,48 @@
+package core;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleIOBenchmarks {
+	private static final String GAME = "S10 D3 SQ C5 H H5 H SA S CA D2";
+	
+	// how many times the game from input file 3 is repeated in the file
+	@Param({"1", "10000"})
+	public int repeats;
+	
+	private File file;
+	
+	@Setup
+	public void setUp() throws IOException {
+		file = File.createTempFile("game", ".txt");
+		file.deleteOnExit();
+		
+		try (Writer writer = new FileWriter(file)) {
+			for (int i = 0; i < repeats; i++) {
+				writer.write(GAME);
+				writer.write(System.lineSeparator());
+			}
+		}
+	}
+	
+	@TearDown
+	public void tearDown() {
+		file.delete();
+	}
+	
+	@Benchmark
+	public Deck readInputFile() {
+		return new ConsoleIO().readInputFile(file.getPath());
+	}
+}
@@ -0,0 +1,68 @@
+package core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmarks {
+	private Deck deck;
+	private Deck shuffled;
+	private Deck seeded;
+	
+	@Setup
+	public void setUp() {
+		deck = new Deck();
+		shuffled = new Deck();
+		shuffled.shuffle();
+		seeded = new Deck(RandomSource.seeded(3004));
+	}
+	
+	@Benchmark
+	public Deck newDeck() {
+		return new Deck();
+	}
+	
+	@Benchmark
+	public Deck shuffle() {
+		deck.reshuffle();
+		return deck;
+	}
+	
+	@Benchmark
+	public Deck shuffleSeeded() {
+		seeded.reshuffle();
+		return seeded;
+	}
+	
+	/**************
+	 * Purpose:  One draw per operation, putting the cards back
+	 * 		once the deck runs out.
+	 **************/
+	@Benchmark
+	public Card draw() {
+		if (shuffled.size() == 0) {
+			shuffled.reset();
+		}
+		return shuffled.draw();
+	}
+	
+	@Benchmark
+	public boolean checkDuplicates() {
+		return shuffled.checkDuplicates();
+	}
+	
+	@Benchmark
+	public void drawWholeDeck(Blackhole blackhole) {
+		shuffled.reset();
+		while (shuffled.size() > 0) {
+			blackhole.consume(shuffled.draw());
+		}
+	}
+}
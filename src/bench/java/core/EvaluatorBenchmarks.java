@@ -0,0 +1,54 @@
+package core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class EvaluatorBenchmarks {
+	private static final int HANDS = 4096;
+	
+	@Param({"scalar", "best"})
+	public String evaluator;
+	
+	private HandEvaluator hands;
+	private int[] hardTotal = new int[HANDS];
+	private int[] aces = new int[HANDS];
+	private boolean[] alreadyHit = new boolean[HANDS];
+	private int[] score = new int[HANDS];
+	private boolean[] soft = new boolean[HANDS];
+	private int[] state = new int[HANDS];
+	
+	@Setup
+	public void setUp() {
+		Deck deck = new Deck(RandomSource.seeded(1));
+		
+		hands = evaluator.equals("scalar") ? HandEvaluator.scalar() : HandEvaluator.best();
+		
+		for (int h = 0; h < HANDS; h++) {
+			if (deck.size() < 4) {
+				deck.reshuffle();
+			}
+			for (int c = 0; c < 2 + h % 3; c++) {
+				int value = deck.draw().value;
+				hardTotal[h] += value == 0 ? 1 : value;
+				aces[h] += value == 0 ? 1 : 0;
+			}
+			alreadyHit[h] = h % 3 > 0;
+		}
+	}
+	
+	/**************
+	 * Purpose:  Score and classify 4096 hands in one call.
+	 **************/
+	@Benchmark
+	public int[] evaluate() {
+		hands.evaluate(hardTotal, aces, alreadyHit, score, soft, state, 0, HANDS);
+		return state;
+	}
+}
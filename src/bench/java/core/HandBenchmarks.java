@@ -0,0 +1,60 @@
+package core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandBenchmarks {
+	private Hand hand;
+	private Player player;
+	
+	/**************
+	 * Purpose:  A three card soft hand, and a player who has
+	 * 		split into two hands.
+	 **************/
+	@Setup
+	public void setUp() {
+		hand = new Hand();
+		hand.add(new Card("S", "A", 0));
+		hand.add(new Card("H", "4", 4));
+		hand.add(new Card("D", "3", 3));
+		
+		player = new Player(new Deck());
+		player.hand = new Hand();
+		player.hand.add(new Card("C", "8", 8));
+		player.hand.add(new Card("D", "8", 8));
+		player.split(new Deck());
+	}
+	
+	@Benchmark
+	public int getScore() {
+		return hand.getScore();
+	}
+	
+	@Benchmark
+	public Hand.HandState getState() {
+		return hand.getState();
+	}
+	
+	@Benchmark
+	public Hand.HandState getBestHandState() {
+		return player.getBestHandState();
+	}
+	
+	@Benchmark
+	public int getBestHandScore() {
+		return player.getBestHandScore();
+	}
+	
+	@Benchmark
+	public String getCards() {
+		return hand.getCards();
+	}
+}
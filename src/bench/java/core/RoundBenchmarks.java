@@ -0,0 +1,42 @@
+package core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundBenchmarks {
+	private Simulation singleDeck;
+	private Simulation shoeWithBot;
+	
+	@Setup
+	public void setUp() {
+		singleDeck = new Simulation();
+		shoeWithBot = new Simulation(new Shoe(6), StrategyTable.compute(6));
+	}
+	
+	/**************
+	 * Purpose:  A complete headless round from a single deck,
+	 * 		reshuffled every round like Game.
+	 **************/
+	@Benchmark
+	public long singleDeckRound() {
+		singleDeck.playRound();
+		return singleDeck.rounds;
+	}
+	
+	/**************
+	 * Purpose:  A complete headless round from a six deck shoe,
+	 * 		with a bot playing from the strategy table.
+	 **************/
+	@Benchmark
+	public long shoeRoundWithBot() {
+		shoeWithBot.playRound();
+		return shoeWithBot.rounds;
+	}
+}
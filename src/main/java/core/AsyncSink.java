@@ -0,0 +1,227 @@
+package core;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**************
+ * Purpose:  Hands output to a background thread, which writes
+ * 		it to another sink in the same order. Writing only waits
+ * 		if the queue is full. If the other sink fails, the failure
+ * 		is kept and thrown from the next write, flush or close, and
+ * 		nothing more is written. The background thread keeps
+ * 		emptying the queue until it is closed, so nobody is left
+ * 		waiting on it.
+ **************/
+public class AsyncSink implements OutputSink {
+	private static final int DEFAULT_CAPACITY = 1024;
+	private static final long WAIT_MILLIS = 100;
+	
+	private final BlockingQueue<Object> queue;
+	private final OutputSink sink;
+	private final Thread writer;
+	private volatile RuntimeException failure = null;
+	private volatile boolean closed = false;
+	
+	public AsyncSink(OutputSink sink) {
+		this(sink, DEFAULT_CAPACITY);
+	}
+	
+	public AsyncSink(OutputSink sink, int capacity) {
+		this.sink = sink;
+		this.queue = new ArrayBlockingQueue<Object>(capacity);
+		this.writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				drain();
+			}
+		}, "output");
+		
+		writer.setDaemon(true);
+		writer.start();
+	}
+	
+	
+	@Override
+	public void write(String text) {
+		put(text);
+	}
+	
+	
+	/**************
+	 * Purpose:  Wait until everything written so far has reached
+	 * 		the other sink, and it has been flushed.
+	 **************/
+	@Override
+	public void flush() {
+		CountDownLatch flushed = new CountDownLatch(1);
+		
+		put(flushed);
+		await(flushed);
+		checkFailure();
+	}
+	
+	
+	/**************
+	 * Purpose:  Flush, then close the other sink and stop the
+	 * 		background thread. Nothing can be written after this.
+	 **************/
+	@Override
+	public synchronized void close() {
+		if (!closed) {
+			boolean interrupted = false;
+			
+			closed = true;
+			enqueue(new CountDownLatch(0));
+			
+			while (writer.isAlive()) {
+				try {
+					writer.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+		checkFailure();
+	}
+	
+	
+	@Override
+	public boolean isQuiet() {
+		return sink.isQuiet();
+	}
+	
+	
+	/**************
+	 * Purpose:  Runs on the background thread. A latch with a
+	 * 		count of 1 is a flush, and one with a count of 0 closes
+	 * 		the sink. Once the other sink has failed, output is
+	 * 		thrown away, but flushes are still let through.
+	 **************/
+	private void drain() {
+		boolean open = true;
+		
+		try {
+			while (open) {
+				Object next = queue.take();
+				
+				if (next instanceof String) {
+					if (failure == null) {
+						apply(next);
+					}
+				}
+				else {
+					CountDownLatch latch = (CountDownLatch) next;
+					open = latch.getCount() > 0;
+					
+					if (!open || failure == null) {
+						apply(latch);
+					}
+					latch.countDown();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	private void apply(Object next) {
+		try {
+			if (next instanceof String) {
+				sink.write((String) next);
+			}
+			else if (((CountDownLatch) next).getCount() > 0) {
+				sink.flush();
+			}
+			else {
+				sink.close();
+			}
+		} catch (RuntimeException e) {
+			if (failure == null) {
+				failure = e;
+			}
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Queue the next piece of work, as long as the sink
+	 * 		is still open and hasn't failed.
+	 **************/
+	private void put(Object next) {
+		checkFailure();
+		
+		if (closed) {
+			throw new IllegalStateException("The sink is closed.");
+		}
+		
+		enqueue(next);
+	}
+	
+	
+	/**************
+	 * Purpose:  Wait for room in the queue. Gives up if the
+	 * 		background thread has stopped. An interrupt doesn't
+	 * 		drop the work: it is still queued, and the interrupt is
+	 * 		set again afterwards.
+	 **************/
+	private void enqueue(Object next) {
+		boolean queued = false;
+		boolean interrupted = false;
+		
+		try {
+			while (!queued) {
+				try {
+					queued = queue.offer(next, WAIT_MILLIS, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+				
+				if (!queued && !writer.isAlive()) {
+					throw new IllegalStateException("The sink is closed.");
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Wait for the background thread to reach the latch,
+	 * 		or to stop before it does. Like enqueue(), an interrupt
+	 * 		is kept until the wait is over.
+	 **************/
+	private void await(CountDownLatch latch) {
+		boolean reached = false;
+		boolean interrupted = false;
+		
+		while (!reached && writer.isAlive()) {
+			try {
+				reached = latch.await(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	private void checkFailure() {
+		if (failure != null) {
+			throw new IllegalStateException("The output could not be written.", failure);
+		}
+	}
+}
@@ -0,0 +1,302 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**************
+ * Purpose:  A simulation that bets on every round. Rounds are
+ * 		settled with Game.getOutcome(): a win pays the bet, an
+ * 		initial blackjack pays 3:2, a push gives the bet back and
+ * 		a loss takes it. A round is settled on the best hand, like
+ * 		Game, so a split doesn't add a second bet.
+ **************/
+public class Bankroll extends Simulation {
+	public static final double TABLE_MINIMUM = 1;
+	public static final double BLACKJACK_PAYS = 1.5;
+	
+	private static final long DEFAULT_TRAJECTORIES = 10000;
+	private static final long DEFAULT_ROUNDS = 1000;
+	private static final double DEFAULT_BANKROLL = 100;
+	private static final int DEFAULT_DECKS = 6;
+	private static final double[] PERCENTILES = {5, 25, 50, 75, 95};
+	
+	protected double balance;
+	protected double wagered = 0;
+	
+	private final BetPolicy policy;
+	private final Deck deck;
+	private double bet = 0;
+	
+	/**************
+	 * Purpose:  The final bankrolls of many trajectories, each
+	 * 		played from the same starting bankroll.
+	 **************/
+	public static class Results {
+		public final double start;
+		public final double[] finals;
+		protected long ruined = 0;
+		protected long rounds = 0;
+		protected double net = 0;
+		protected double wagered = 0;
+		protected long elapsedNanos = 0;
+		
+		Results(double start, int trajectories) {
+			this.start = start;
+			this.finals = new double[trajectories];
+		}
+		
+		public double getMean() {
+			double sum = 0;
+			
+			for (double value : finals) {
+				sum += value;
+			}
+			
+			return finals.length == 0 ? 0 : sum / finals.length;
+		}
+		
+		public double getVariance() {
+			double mean = getMean();
+			double sum = 0;
+			
+			for (double value : finals) {
+				sum += (value - mean) * (value - mean);
+			}
+			
+			return finals.length < 2 ? 0 : sum / (finals.length - 1);
+		}
+		
+		/**************
+		 * Purpose:  The share of trajectories that ended with too
+		 * 		little left to bet the table minimum.
+		 **************/
+		public double getRiskOfRuin() {
+			return finals.length == 0 ? 0 : (double) ruined / finals.length;
+		}
+		
+		/**************
+		 * Purpose:  The final bankroll that the given percentage of
+		 * 		trajectories ended at or below, by nearest rank.
+		 **************/
+		public double getPercentile(double percent) {
+			double[] sorted = finals.clone();
+			Arrays.sort(sorted);
+			int rank = (int) Math.ceil(percent / 100 * sorted.length);
+			
+			return sorted.length == 0 ? 0 : sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+		}
+		
+		/**************
+		 * Purpose:  The net result per unit bet over every round.
+		 **************/
+		public double getReturn() {
+			return wagered == 0 ? 0 : net / wagered;
+		}
+		
+		public String getReport() {
+			String nl = System.lineSeparator();
+			StringBuilder report = new StringBuilder();
+			
+			report.append("Trajectories: ").append(finals.length).append(nl)
+				  .append("Rounds played: ").append(rounds).append(nl)
+				  .append("Starting bankroll: ").append(String.format("%.2f", start)).append(nl)
+				  .append("Mean final bankroll: ").append(String.format("%.2f", getMean())).append(nl)
+				  .append("Variance: ").append(String.format("%.2f", getVariance())).append(nl)
+				  .append("Risk of ruin: ").append(String.format("%.2f%%", 100 * getRiskOfRuin())).append(nl)
+				  .append("Return per unit bet: ").append(String.format("%.4f", getReturn())).append(nl);
+			
+			for (double percent : PERCENTILES) {
+				report.append(String.format("%.0fth percentile: %.2f", percent, getPercentile(percent))).append(nl);
+			}
+			
+			report.append("Rounds per second: ")
+				  .append(String.format("%.0f", elapsedNanos == 0 ? 0 : rounds / (elapsedNanos / 1e9)));
+			
+			return report.toString();
+		}
+	}
+	
+	/**************
+	 * Purpose:  Run bankroll trajectories without any console
+	 * 		input, and print the results. The arguments are the
+	 * 		number of trajectories, the rounds in each, the bet
+	 * 		policy ("unit", "flat", "count" or "kelly"), the
+	 * 		starting bankroll, the number of decks, the number of
+	 * 		threads and a seed. The human always plays from a
+	 * 		StrategyTable.
+	 **************/
+	public static void main(String[] args) throws InterruptedException {
+		long trajectories = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_TRAJECTORIES;
+		long rounds = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_ROUNDS;
+		BetPolicy policy = BetPolicy.named(args.length > 2 ? args[2] : "unit", TABLE_MINIMUM);
+		double start = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_BANKROLL;
+		int decks = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_DECKS;
+		int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+		RandomSource random = args.length > 6 ? RandomSource.seeded(Long.parseLong(args[6])) : RandomSource.threadLocal();
+		
+		Results results = runTrajectories((int) trajectories, rounds, start, policy, decks, 
+										  StrategyTable.compute(decks, Rules.DEFAULT), threads, random);
+		new ConsoleIO().outputln(results.getReport());
+	}
+	
+	
+	/**************
+	 * Purpose:  Bet from the given bankroll on rounds dealt from
+	 * 		the given deck or shoe.
+	 **************/
+	public Bankroll(Deck deck, StrategyTable strategy, BetPolicy policy, double balance) {
+		super(deck, strategy);
+		this.deck = deck;
+		this.policy = policy;
+		this.balance = balance;
+	}
+	
+	
+	/**************
+	 * Purpose:  Play the given number of rounds, stopping early if
+	 * 		the bankroll can no longer cover the table minimum.
+	 * 		Returns true if it was ruined.
+	 **************/
+	public boolean play(long numberOfRounds) {
+		long start = System.nanoTime();
+		
+		for (long i = 0; i < numberOfRounds && !isRuined(); i++) {
+			playRound();
+		}
+		
+		elapsedNanos += System.nanoTime() - start;
+		
+		return isRuined();
+	}
+	
+	
+	public boolean isRuined() {
+		return balance < TABLE_MINIMUM;
+	}
+	
+	
+	public double getBalance() {
+		return balance;
+	}
+	
+	
+	/**************
+	 * Purpose:  Place the bet once the deck has been reshuffled,
+	 * 		if it needed to be, then play the round.
+	 **************/
+	@Override
+	protected void playRound() {
+		deck.startRound();
+		
+		bet = Math.max(TABLE_MINIMUM, Math.min(balance, policy.getBet(deck, balance)));
+		super.playRound();
+	}
+	
+	
+	@Override
+	protected Game.Outcome recordResult(Player human, DealerPlayer dealer) {
+		Game.Outcome outcome = super.recordResult(human, dealer);
+		
+		balance += payout(outcome, human.initialBlackjack, bet);
+		wagered += bet;
+		
+		return outcome;
+	}
+	
+	
+	/**************
+	 * Purpose:  What a round pays on the given bet. A loss is
+	 * 		negative, and a push pays nothing.
+	 **************/
+	public static double payout(Game.Outcome outcome, boolean blackjack, double bet) {
+		double paid;
+		
+		switch (outcome) {
+			case won :
+				paid = blackjack ? BLACKJACK_PAYS * bet : bet;
+				break;
+			case lost :
+				paid = -bet;
+				break;
+			default :
+				paid = 0;
+				break;
+		}
+		
+		return paid;
+	}
+	
+	
+	/**************
+	 * Purpose:  Play many trajectories of the given number of
+	 * 		rounds, split across threads. Each trajectory plays
+	 * 		its own shoe with its own stream split from the given
+	 * 		source. The streams are split up front, so a seeded
+	 * 		source gives the same results with any number of threads.
+	 **************/
+	public static Results runTrajectories(int trajectories, final long rounds, final double start, 
+										  final BetPolicy policy, final int decks, final StrategyTable strategy,
+										  int threads, RandomSource random) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<Results>> parts = new ArrayList<Future<Results>>();
+		final Results total = new Results(start, trajectories);
+		final RandomSource[] streams = new RandomSource[trajectories];
+		long begin = System.nanoTime();
+		
+		for (int i = 0; i < trajectories; i++) {
+			streams[i] = random.split();
+		}
+		
+		try {
+			for (int t = 0; t < threads; t++) {
+				final int from = (int) ((long) trajectories * t / threads);
+				final int to = (int) ((long) trajectories * (t + 1) / threads);
+				
+				parts.add(pool.submit(new Callable<Results>() {
+					@Override
+					public Results call() {
+						Results part = new Results(start, 0);
+						
+						for (int i = from; i < to; i++) {
+							Deck deck = decks > 1 ? new Shoe(decks, Shoe.DEFAULT_PENETRATION, streams[i]) : new Deck(streams[i]);
+							Bankroll bankroll = new Bankroll(deck, strategy, policy, start);
+							
+							if (bankroll.play(rounds)) {
+								part.ruined++;
+							}
+							total.finals[i] = bankroll.balance;
+							part.rounds += bankroll.rounds;
+							part.net += bankroll.balance - start;
+							part.wagered += bankroll.wagered;
+						}
+						
+						return part;
+					}
+				}));
+			}
+			
+			for (Future<Results> part : parts) {
+				Results result = part.get();
+				
+				total.ruined += result.ruined;
+				total.rounds += result.rounds;
+				total.net += result.net;
+				total.wagered += result.wagered;
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+		
+		total.elapsedNanos = System.nanoTime() - begin;
+		
+		return total;
+	}
+}
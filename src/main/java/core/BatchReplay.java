@@ -0,0 +1,273 @@
+package core;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+public class BatchReplay {
+	private static final int SLOWEST_SHOWN = 5;
+	
+	enum Outcome {
+		won,
+		lost,
+		push,
+		error
+	}
+	
+	/**************
+	 * Purpose:  What happened when one game file was replayed.
+	 * 		The error is null unless the outcome is error.
+	 **************/
+	public static class Result {
+		public final String file;
+		public final Outcome outcome;
+		public final String error;
+		public final long nanos;
+		
+		Result(String file, Outcome outcome, String error, long nanos) {
+			this.file = file;
+			this.outcome = outcome;
+			this.error = error;
+			this.nanos = nanos;
+		}
+	}
+	
+	protected List<Result> results = new ArrayList<Result>();
+	protected long elapsedNanos = 0;
+	
+	/**************
+	 * Purpose:  Replay every game file in a directory, or every
+	 * 		file matching a glob such as "games/**.txt", and print
+	 * 		a summary. The number of threads can be given as the
+	 * 		second argument.
+	 **************/
+	public static void main(String[] args) throws IOException, InterruptedException {
+		ConsoleIO io = new ConsoleIO();
+		
+		if (args.length == 0) {
+			io.outputln("Usage: BatchReplay <directory or glob> [threads]");
+		}
+		else {
+			int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+			BatchReplay batch;
+			
+			Metrics.enable(io);
+			batch = run(findFiles(args[0]), threads);
+			
+			io.outputln(batch.getReport());
+			io.outputln();
+			io.outputln(Metrics.getReport());
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the files in a directory and its sub
+	 * 		directories, or the files matching a glob, sorted by
+	 * 		path. A glob is searched from the directory before its
+	 * 		first wildcard.
+	 **************/
+	public static List<String> findFiles(String directoryOrGlob) throws IOException {
+		List<String> files = new ArrayList<String>();
+		Path path = Paths.get(directoryOrGlob.replaceAll("[*?\\[\\]{}].*", ""));
+		Path root = Files.isDirectory(path) ? path : path.getParent();
+		PathMatcher matcher = directoryOrGlob.matches(".*[*?\\[\\]{}].*") ?
+				FileSystems.getDefault().getPathMatcher("glob:" + directoryOrGlob) : null;
+		
+		if (root == null) {
+			root = Paths.get("");
+		}
+		
+		if (matcher == null && !Files.isDirectory(path)) {
+			if (Files.isRegularFile(path)) {
+				files.add(path.toString());
+			}
+		}
+		else if (Files.isDirectory(root)) {
+			try (Stream<Path> walk = Files.walk(root)) {
+				for (Iterator<Path> i = walk.iterator(); i.hasNext(); ) {
+					Path file = i.next();
+					
+					if (Files.isRegularFile(file) && (matcher == null || matcher.matches(file))) {
+						files.add(file.toString());
+					}
+				}
+			}
+		}
+		
+		Collections.sort(files);
+		
+		return files;
+	}
+	
+	
+	/**************
+	 * Purpose:  Replay the given files on a pool of threads. Every
+	 * 		file gets its own table, so nothing is shared between
+	 * 		games. The results are kept in the same order as the
+	 * 		files.
+	 **************/
+	public static BatchReplay run(List<String> files, int threads) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<Result>> futures = new ArrayList<Future<Result>>(files.size());
+		BatchReplay batch = new BatchReplay();
+		long start = System.nanoTime();
+		
+		try {
+			for (final String file : files) {
+				futures.add(pool.submit(new Callable<Result>() {
+					@Override
+					public Result call() {
+						return replay(file);
+					}
+				}));
+			}
+			
+			for (Future<Result> future : futures) {
+				batch.results.add(future.get());
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+		
+		batch.elapsedNanos = System.nanoTime() - start;
+		
+		return batch;
+	}
+	
+	
+	/**************
+	 * Purpose:  Play one game file at its own quiet table, and
+	 * 		work out the outcome.
+	 **************/
+	public static Result replay(String file) {
+		long start = System.nanoTime();
+		ConsoleIO io = new ConsoleIO(OutputSink.quiet());
+		Game game = new Game(io, file);
+		String error = null;
+		Outcome outcome;
+		
+		try {
+			game.play();
+		} catch (IndexOutOfBoundsException e) {
+			error = "not enough cards";
+		}
+		
+		if (error == null && io.inputError) {
+			error = getError(io);
+		}
+		
+		if (error != null) {
+			outcome = Outcome.error;
+		}
+		else {
+			outcome = Outcome.valueOf(game.outcome.name());
+		}
+		
+		return new Result(file, outcome, error, System.nanoTime() - start);
+	}
+	
+	
+	private static String getError(ConsoleIO io) {
+		String error;
+		
+		if (io.script == null) {
+			error = "could not read the file";
+		}
+		else if (!io.script.isValid()) {
+			error = "not a card or command";
+		}
+		else if (io.script.hasDuplicates()) {
+			error = "duplicate cards";
+		}
+		else {
+			error = "not enough commands";
+		}
+		
+		return error;
+	}
+	
+	
+	public int count(Outcome outcome) {
+		int count = 0;
+		
+		for (Result result : results) {
+			if (result.outcome == outcome) {
+				count++;
+			}
+		}
+		
+		return count;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the number of games won, lost, pushed and
+	 * 		with input errors, the time taken, the slowest games, and
+	 * 		every file with an input error.
+	 **************/
+	public String getReport() {
+		String nl = System.lineSeparator();
+		StringBuilder report = new StringBuilder();
+		List<Result> slowest = new ArrayList<Result>(results);
+		long totalNanos = 0;
+		
+		for (Result result : results) {
+			totalNanos += result.nanos;
+		}
+		
+		report.append("Files replayed: ").append(results.size()).append(nl)
+			  .append("Won: ").append(count(Outcome.won)).append(nl)
+			  .append("Lost: ").append(count(Outcome.lost)).append(nl)
+			  .append("Pushes: ").append(count(Outcome.push)).append(nl)
+			  .append("Input errors: ").append(count(Outcome.error)).append(nl)
+			  .append("Wall time: ").append(millis(elapsedNanos)).append(nl)
+			  .append("Time in games: ").append(millis(totalNanos)).append(nl)
+			  .append("Mean per game: ").append(millis(results.isEmpty() ? 0 : totalNanos / results.size())).append(nl);
+		
+		Collections.sort(slowest, new Comparator<Result>() {
+			@Override
+			public int compare(Result first, Result second) {
+				return Long.compare(second.nanos, first.nanos);
+			}
+		});
+		
+		report.append("Slowest:").append(nl);
+		for (Result result : slowest.subList(0, Math.min(SLOWEST_SHOWN, slowest.size()))) {
+			report.append("  ").append(result.file).append(" ").append(millis(result.nanos)).append(nl);
+		}
+		
+		if (count(Outcome.error) > 0) {
+			report.append("Errors:").append(nl);
+			
+			for (Result result : results) {
+				if (result.outcome == Outcome.error) {
+					report.append("  ").append(result.file).append(": ").append(result.error).append(nl);
+				}
+			}
+		}
+		
+		return report.toString().trim();
+	}
+	
+	
+	private static String millis(long nanos) {
+		return String.format("%.3f ms", nanos / 1e6);
+	}
+}
@@ -0,0 +1,113 @@
+package core;
+
+/**************
+ * Purpose:  Decides how much to bet on the next round, in units,
+ * 		before any card of it has been dealt. A policy can look at
+ * 		the deck to size its bets from the count, and at the
+ * 		bankroll it is betting from.
+ **************/
+public interface BetPolicy {
+	
+	/**************
+	 * Purpose:  Return the bet for the next round. Bankroll never
+	 * 		lets a bet go above what is left of the bankroll.
+	 **************/
+	double getBet(Deck deck, double bankroll);
+	
+	
+	/**************
+	 * Purpose:  Bet one unit on every round.
+	 **************/
+	static BetPolicy unit() {
+		return flat(1);
+	}
+	
+	
+	static BetPolicy flat(final double bet) {
+		return new BetPolicy() {
+			@Override
+			public double getBet(Deck deck, double bankroll) {
+				return bet;
+			}
+		};
+	}
+	
+	
+	/**************
+	 * Purpose:  Bet the minimum while the true count is low, and
+	 * 		one more minimum for every point of true count above 1,
+	 * 		up to spread times the minimum.
+	 **************/
+	static BetPolicy counting(final double minimum, final int spread) {
+		return new BetPolicy() {
+			@Override
+			public double getBet(Deck deck, double bankroll) {
+				double units = Math.floor(deck.getTrueCount()) - 1;
+				
+				return minimum * Math.max(1, Math.min(spread, units));
+			}
+		};
+	}
+	
+	
+	/**************
+	 * Purpose:  Bet the given fraction of the Kelly bet, which is
+	 * 		the bankroll times the edge over the variance of a round.
+	 * 		The edge is estimated from the true count, starting at
+	 * 		-0.5% and gaining 0.5% for each point. With no edge, the
+	 * 		minimum is bet.
+	 **************/
+	static BetPolicy kelly(final double fraction, final double minimum) {
+		return new BetPolicy() {
+			@Override
+			public double getBet(Deck deck, double bankroll) {
+				double edge = Kelly.BASE_EDGE + Kelly.EDGE_PER_COUNT * deck.getTrueCount();
+				
+				return Math.max(minimum, bankroll * fraction * edge / Kelly.VARIANCE);
+			}
+		};
+	}
+	
+	
+	/**************
+	 * Purpose:  Look up a policy by name, as given on the command
+	 * 		line: "unit", "flat", "count" or "kelly".
+	 **************/
+	static BetPolicy named(String name, double minimum) {
+		BetPolicy policy;
+		
+		switch (name.toLowerCase()) {
+			case "unit" :
+				policy = unit();
+				break;
+			case "flat" :
+				policy = flat(minimum);
+				break;
+			case "count" :
+				policy = counting(minimum, Kelly.SPREAD);
+				break;
+			case "kelly" :
+				policy = kelly(Kelly.FRACTION, minimum);
+				break;
+			default :
+				throw new IllegalArgumentException("Unknown bet policy: " + name);
+		}
+		
+		return policy;
+	}
+	
+	
+	/**************
+	 * Purpose:  The figures behind the count-based policies.
+	 **************/
+	final class Kelly {
+		static final double BASE_EDGE = -0.005;
+		static final double EDGE_PER_COUNT = 0.005;
+		static final double VARIANCE = 1.3;
+		static final double FRACTION = 0.5;
+		static final int SPREAD = 8;
+		
+		private Kelly() {
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package core;
+
+public class BotPlayer extends Player {
+	protected DecisionProvider decisions;
+	
+	public BotPlayer(Deck deck, StrategyTable table) {
+		this(deck, DecisionProvider.table(table));
+	}
+	
+	public BotPlayer(Deck deck, ConsoleIO io, StrategyTable table) {
+		this(deck, io, DecisionProvider.table(table));
+	}
+	
+	public BotPlayer(Deck deck, DecisionProvider decisions) {
+		super(deck);
+		this.decisions = decisions;
+	}
+	
+	public BotPlayer(Deck deck, ConsoleIO io, DecisionProvider decisions) {
+		super(deck, io);
+		this.decisions = decisions;
+	}
+	
+	/*************************
+	 * Purpose: Takes the bot's turn without any input or output.
+	 * 		Each decision is a direct call to the bot's
+	 * 		DecisionProvider, e.g. a lookup in a strategy table.
+	 * 		Like HumanPlayer.takeTurn(), the bot moves on to the
+	 * 		split hand after staying or busting on the first hand,
+	 * 		and a split that isn't allowed is treated as a stay.
+	 *************************/
+	@Override
+	public void takeTurn(Deck deck) {
+		while (currentHand != null && getBestHandState() != Hand.HandState.busted) {
+			Player.Action action = decisions.decide(currentHand, dealerUpcard, canSplit());
+			
+			if (action == Player.Action.split && !canSplit()) {
+				action = Player.Action.stay;
+			}
+			
+			switch (action == null ? Player.Action.stay : action) {
+				case hit :
+					currentHand.hit(deck);
+					if (currentHand.getState() == Hand.HandState.busted) {
+						nextHand();
+					}
+					break;
+					
+				case split :
+					split(deck);
+					break;
+					
+				default :
+					nextHand();
+					break;
+			}
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package core;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**************
+ * Purpose:  Collects output in a buffer and writes it to a
+ * 		stream in large pieces. Not thread safe; each table
+ * 		should have its own.
+ **************/
+public class BufferedSink implements OutputSink {
+	private static final String NEWLINE = System.lineSeparator();
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+	
+	private final Writer writer;
+	private final OutputStream out;
+	private final boolean closeStream;
+	private final boolean flushLines;
+	
+	/**************
+	 * Purpose:  If flushLines is true, the buffer is passed on
+	 * 		whenever a line is finished. If closeStream is false,
+	 * 		closing the sink only flushes it.
+	 **************/
+	public BufferedSink(OutputStream out, boolean closeStream, boolean flushLines) {
+		this(out, closeStream, flushLines, DEFAULT_BUFFER_SIZE);
+	}
+	
+	public BufferedSink(OutputStream out, boolean closeStream, boolean flushLines, int bufferSize) {
+		this.out = out;
+		this.writer = new BufferedWriter(new OutputStreamWriter(out), bufferSize);
+		this.closeStream = closeStream;
+		this.flushLines = flushLines;
+	}
+	
+	
+	@Override
+	public void write(String text) {
+		try {
+			writer.write(text);
+			
+			if (flushLines && text.endsWith(NEWLINE)) {
+				writer.flush();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	@Override
+	public void flush() {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	@Override
+	public void close() {
+		try {
+			if (closeStream) {
+				writer.close();
+			}
+			else {
+				writer.flush();
+				out.flush();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
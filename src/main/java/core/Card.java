@@ -1,16 +1,82 @@
 package core;
 
 public class Card {	
+	public static final String[] SUITS = {"C", "D", "H", "S"};
+	public static final String[] RANKS = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K"};
+	public static final int DECK_SIZE = SUITS.length * RANKS.length;
 	
-	public int value;		// value is 0 for aces
+	// values indexed by position in RANKS, 0 is used for aces
+	private static final int[] RANK_VALUES = {0, 2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10};
+	private static final Card[] CARDS = new Card[DECK_SIZE];
+	
+	public final int value;		// value is 0 for aces
+	public final int code;		// suit * 13 + rank index, or -1 for an unknown card
 	
 	private String rank;
 	private String suit;
 	
+	static {
+		for (int code = 0; code < DECK_SIZE; code++) {
+			CARDS[code] = new Card(code);
+		}
+	}
+	
 	public Card (String suit, String rank, int value) {
 		this.suit = suit;
 		this.rank = rank;
 		this.value = value;
+		this.code = code(suit, rank);
+	}
+	
+	private Card (int code) {
+		this.code = code;
+		this.suit = SUITS[code / RANKS.length];
+		this.rank = RANKS[code % RANKS.length];
+		this.value = RANK_VALUES[code % RANKS.length];
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the shared card for a code between 0
+	 * 		and 51. There is only ever one object per card, so
+	 * 		dealing never creates new cards.
+	 **************/
+	public static Card of(int code) {
+		return CARDS[code];
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the code for a suit and rank, or -1 if
+	 * 		either of them isn't valid.
+	 **************/
+	public static int code(String suit, String rank) {
+		int suitIndex = indexOf(SUITS, suit);
+		int rankIndex = indexOf(RANKS, rank);
+		int code = -1;
+		
+		if (suitIndex >= 0 && rankIndex >= 0) {
+			code = suitIndex * RANKS.length + rankIndex;
+		}
+		
+		return code;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the value of a card code. Aces are 0.
+	 **************/
+	public static int valueOf(int code) {
+		return RANK_VALUES[code % RANKS.length];
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the position of a card code's rank in
+	 * 		RANKS, so 0 for aces and 12 for kings.
+	 **************/
+	public static int rankIndexOf(int code) {
+		return code % RANKS.length;
 	}
 	
 	
@@ -23,4 +89,15 @@ public class Card {
 	public String getRank() {
 		return rank;
 	}
+	
+	
+	private static int indexOf(String[] values, String value) {
+		int index = -1;
+		
+		for (int i = 0; i < values.length && index < 0; i++) {
+			if (values[i].equals(value)) index = i;
+		}
+		
+		return index;
+	}
 }
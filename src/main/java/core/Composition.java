@@ -0,0 +1,221 @@
+package core;
+
+import java.util.Arrays;
+
+/**************
+ * Purpose:  The cards left in a deck or shoe, counted by rank
+ * 		group and packed into a single long: 6 bits for each of
+ * 		aces and 2 to 9, and 10 bits for the ten-valued cards.
+ * 		That holds up to 15 decks. Compositions can't be changed,
+ * 		so they are safe to use as keys. The static methods work
+ * 		on the packed long directly, for loops that shouldn't
+ * 		create objects.
+ **************/
+public final class Composition {
+	// rank groups: 0 is aces, 1 to 8 are 2 to 9, and 9 is every ten-valued card
+	public static final int RANKS = 10;
+	public static final int ACE = 0;
+	public static final int TEN = 9;
+	public static final int MAX_DECKS = 15;
+	public static final Composition EMPTY = new Composition(0, 0);
+	
+	private static final int BITS = 6;
+	private static final int SMALL_MASK = (1 << BITS) - 1;
+	private static final int TEN_MASK = (1 << 10) - 1;
+	
+	private final long bits;
+	private final int size;
+	
+	private Composition(long bits, int size) {
+		this.bits = bits;
+		this.size = size;
+	}
+	
+	
+	/**************
+	 * Purpose:  Create a composition from the number of cards in
+	 * 		each rank group. Throws an IllegalArgumentException if
+	 * 		a count doesn't fit.
+	 **************/
+	public static Composition of(int... counts) {
+		long bits = pack(counts);
+		
+		return new Composition(bits, size(bits));
+	}
+	
+	
+	/**************
+	 * Purpose:  The cards left to draw in a deck, from the counts
+	 * 		the deck keeps as cards are drawn.
+	 **************/
+	public static Composition of(Deck deck) {
+		int[] counts = new int[RANKS];
+		
+		for (int rank = 0; rank < Card.RANKS.length; rank++) {
+			counts[rankOf(Card.valueOf(rank))] += deck.getRemaining(rank);
+		}
+		
+		return of(counts);
+	}
+	
+	
+	/**************
+	 * Purpose:  Every card in the given number of full decks.
+	 **************/
+	public static Composition decks(int decks) {
+		int[] counts = new int[RANKS];
+		
+		for (int rank = 0; rank < RANKS; rank++) {
+			counts[rank] = (rank == TEN ? 16 : 4) * decks;
+		}
+		
+		return of(counts);
+	}
+	
+	
+	public static Composition fromLong(long bits) {
+		return new Composition(bits, size(bits));
+	}
+	
+	
+	public long toLong() {
+		return bits;
+	}
+	
+	
+	public int count(int rank) {
+		return count(bits, rank);
+	}
+	
+	
+	public int size() {
+		return size;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the composition with one card of the rank
+	 * 		group taken out. Throws an IllegalStateException if
+	 * 		there are none left.
+	 **************/
+	public Composition remove(int rank) {
+		if (count(bits, rank) == 0) {
+			throw new IllegalStateException("No cards of that rank left.");
+		}
+		
+		return new Composition(remove(bits, rank), size - 1);
+	}
+	
+	
+	public Composition add(int rank) {
+		if (count(bits, rank) == (rank == TEN ? TEN_MASK : SMALL_MASK)) {
+			throw new IllegalStateException("Too many cards of that rank.");
+		}
+		
+		return new Composition(add(bits, rank), size + 1);
+	}
+	
+	
+	public int[] toCounts() {
+		int[] counts = new int[RANKS];
+		
+		for (int rank = 0; rank < RANKS; rank++) {
+			counts[rank] = count(bits, rank);
+		}
+		
+		return counts;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return an unshuffled deck holding these cards.
+	 * 		Suits are dealt out in turn, and ten-valued cards are
+	 * 		spread across 10, J, Q and K.
+	 **************/
+	public Deck toDeck() {
+		Deck deck = new Deck();
+		deck.clear();
+		
+		for (int rank = 0; rank < RANKS; rank++) {
+			for (int i = 0; i < count(bits, rank); i++) {
+				int rankIndex = rank == TEN ? TEN + i % 4 : rank;
+				int suit = (rank == TEN ? i / 4 : i) % Card.SUITS.length;
+				
+				deck.add(Card.of(suit * Card.RANKS.length + rankIndex));
+			}
+		}
+		
+		return deck;
+	}
+	
+	
+	/**************
+	 * Purpose:  The rank group of a card value. Aces are 0.
+	 **************/
+	public static int rankOf(int value) {
+		return value == 0 ? ACE : value - 1;
+	}
+	
+	
+	public static long pack(int[] counts) {
+		long bits = 0;
+		
+		for (int rank = 0; rank < RANKS; rank++) {
+			int max = rank == TEN ? TEN_MASK : SMALL_MASK;
+			if (counts[rank] < 0 || counts[rank] > max) {
+				throw new IllegalArgumentException("Too many cards of one rank to pack: " + counts[rank]);
+			}
+			bits |= (long) counts[rank] << (BITS * rank);
+		}
+		
+		return bits;
+	}
+	
+	
+	public static int count(long bits, int rank) {
+		return (int) (bits >>> (BITS * rank)) & (rank == TEN ? TEN_MASK : SMALL_MASK);
+	}
+	
+	
+	/**************
+	 * Purpose:  Take one card out of a packed composition. The
+	 * 		caller must check there is one to take.
+	 **************/
+	public static long remove(long bits, int rank) {
+		return bits - (1L << (BITS * rank));
+	}
+	
+	
+	public static long add(long bits, int rank) {
+		return bits + (1L << (BITS * rank));
+	}
+	
+	
+	public static int size(long bits) {
+		int size = 0;
+		
+		for (int rank = 0; rank < RANKS; rank++) {
+			size += count(bits, rank);
+		}
+		
+		return size;
+	}
+	
+	
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof Composition && ((Composition) other).bits == bits;
+	}
+	
+	
+	@Override
+	public int hashCode() {
+		return Long.hashCode(bits * 0x9e3779b97f4a7c15L);
+	}
+	
+	
+	@Override
+	public String toString() {
+		return Arrays.toString(toCounts());
+	}
+}
@@ -1,50 +1,81 @@
 package core;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Objects;
 import java.util.Scanner;
 
 public class ConsoleIO {
-	protected static boolean inputError = false;
-	protected static List<String> fileCommands = null;
+	protected boolean inputError = false;
+	protected ScriptReader script = null;
+	protected long inputNanos = 0;		// total time spent waiting for console input
 	
-	private static Scanner s;
 	private static final String[] validInputs =  {"Q", "C", "F", "H", "S", "D", "CD", "FD"};
-	private static boolean initialized = false;
+	private static Scanner stdin;
+	
+	private Scanner s;
+	private OutputSink sink;
+	
+	/**************
+	 * Purpose:  Create an IO channel for the console. Every console
+	 * 		channel shares one scanner, since there is only one
+	 * 		System.in.
+	 **************/
+	public ConsoleIO() {
+		this(OutputSink.console());
+	}
+	
+	/**************
+	 * Purpose:  Create an IO channel that reads from the console
+	 * 		and writes to the given sink.
+	 **************/
+	public ConsoleIO(OutputSink sink) {
+		this.sink = sink;
+	}
+	
+	/**************
+	 * Purpose:  Create an IO channel that reads from and writes to
+	 * 		the given streams instead of the console.
+	 **************/
+	public ConsoleIO(InputStream in, OutputStream out) {
+		this(in, OutputSink.stream(out));
+	}
+	
+	public ConsoleIO(InputStream in, OutputSink sink) {
+		this.s = new Scanner(in);
+		this.sink = sink;
+	}
 	
 	
 	/**************
 	 * Purpose:  Receives any number of strings as an input to
-	 * 		show the user before asking for input. If the list
-	 * 		of player commands parsed from the file is not null,
-	 * 		the next player command is supplied instead of 
-	 * 		requesting user input.
+	 * 		show the user before asking for input. If a game
+	 * 		file is being read, the next player command in the
+	 * 		file is supplied instead of requesting user input.
 	 **************/
-	public static String input(String... message) {
+	public String input(String... message) {
 		String input = null;
 		
-		if (fileCommands != null) {
-			if (fileCommands.size() > 0) {
-				input = fileCommands.remove(0);
-			}
-			else {
+		if (script != null) {
+			input = script.nextCommand();
+			
+			if (input == null) {
 				input = "";
 				inputError = true;
 			}
-			
 		}
 		else {
-			if (!initialized) {
-				init();
-			}
+			openScanner();
 			output(message);
+			sink.flush();
+			
+			long start = Metrics.start();
 			input = validateInput(s.nextLine());
+			long waited = System.nanoTime() - start;
+			
+			inputNanos += waited;
+			Metrics.recordNanos(Metrics.Phase.input, waited);
 		}
 		
 		return input;
@@ -53,10 +84,10 @@ public class ConsoleIO {
 	/**************
 	 * Purpose:  Print a message containing any number of strings
 	 **************/
-	public static void output(String... message) {
+	public void output(String... message) {
 		
 		for (String m : message) {
-			System.out.print(m);
+			sink.write(m);
 		}
 		
 	}
@@ -65,9 +96,24 @@ public class ConsoleIO {
 	 * Purpose:  Print a message containing any number of strings,
 	 * 		and then a newline.
 	 **************/
-	public static void outputln(String... message) {
+	public void outputln(String... message) {
 		output(message);
-		output(System.lineSeparator());
+		sink.write(System.lineSeparator());
+	}
+	
+	/**************
+	 * Purpose:  Pass on everything written so far.
+	 **************/
+	public void flush() {
+		sink.flush();
+	}
+	
+	/**************
+	 * Purpose:  True if nothing written is ever shown, so there
+	 * 		is no need to build the text in the first place.
+	 **************/
+	public boolean isQuiet() {
+		return sink.isQuiet();
 	}
 	
 	
@@ -97,60 +143,30 @@ public class ConsoleIO {
 	
 	/**************
 	 * Purpose:  Read and try to verify a file supplied
-	 * 		by the user that describes a game.
+	 * 		by the user that describes a game. Returns a deck
+	 * 		that deals the cards listed in the file, and keeps the
+	 * 		file open for input() to read the player commands from.
+	 * 		Cards and commands are read as they are needed.
 	 **************/
-	public static void readInputFile(String filePath) {
-		File file = new File(filePath);
+	public Deck readInputFile(String filePath) {
+		ScriptDeck deck = null;
+		long start = Metrics.start();
 		
-		if (file.exists()) {
-			try(BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-				String fileText = "";
-				List<String> fileContents;
-			    StringBuilder sb = new StringBuilder();
-			    String line = br.readLine();
-			    
-			    // read the file into a string, and split that string by spaces when added it to a List.
-			    while (line != null) {
-			        sb.append(line);
-			        sb.append(System.lineSeparator());
-			        line = br.readLine();
-			    }
-			    fileText = sb.toString();
-			    fileContents = Arrays.asList(fileText.split("\\s"));
-			    
-			    Game.deck = new Deck();
-			    Game.deck.cards = new ArrayList<Card>();
-			    fileCommands = new ArrayList<String>(); 
-			    for (String element : fileContents) {
-					if (isValidCard(element)) {
-						// element.substring(0, 1) contains the first character (the suit)
-						// element.substring(1) contains the rest of the characters (the rank)
-						Game.deck.cards.add(new Card(element.substring(0, 1).toUpperCase(), 
-					       		 					 element.substring(1).toUpperCase(), 
-					       		 					 Deck.ranks.get(element.substring(1).toUpperCase())));
-					}
-					else if (isValidPlayerCommand(element)) {
-						fileCommands.add(element);
-					}
-					else {
-						inputError = true;
-					}
-				}
-			    
-			    // verify that the deck doesn't have any duplicate cards
-			    if (!Game.deck.checkDuplicates()) {
-			    	inputError = true;
-			    }
-
-			} catch (IOException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
+		try {
+			script = new ScriptReader(filePath);
+			deck = new ScriptDeck(script);
+			
+			// every token must be a card or a command, and no card can appear twice
+			if (!script.isValid() || !deck.checkDuplicates()) {
 				inputError = true;
 			}
-		}
-		else {
+		} catch (IOException e) {
 			inputError = true;
 		}
+		
+		Metrics.record(Metrics.Phase.readInputFile, start);
+		
+		return deck;
 	}
 	
 	
@@ -160,18 +176,7 @@ public class ConsoleIO {
 	 * 		cards.
 	 **************/
 	public static boolean isValidCard(String card) {
-		boolean check = false;
-		String[] validSuits = { "H", "D", "S", "C" };
-		String[] validRanks = { "A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K" };
-		
-		if (card != null && card.length() >= 2) {
-			if (Arrays.asList(validSuits).contains(card.substring(0, 1).toUpperCase()) &
-				Arrays.asList(validRanks).contains(card.substring(1).toUpperCase())) {
-				check = true;
-			}
-		}
-		
-		return check;
+		return ScriptReader.cardCode(card) >= 0;
 	}
 	
 	
@@ -181,32 +186,49 @@ public class ConsoleIO {
 	 * 		 set of possible user inputs.
 	 **************/
 	public static boolean isValidPlayerCommand(String playerCommand) {
-		boolean check = false;
-		String[] validPlayerCommands = { "H", "S", "D" };
-		
-		if (playerCommand != null && Arrays.asList(validPlayerCommands).contains(playerCommand.toUpperCase())) {
-			check = true;
-		}
-		
-		return check;
+		return ScriptReader.command(playerCommand) != null;
+	}
+	
+	/**************
+	 * Purpose:  Get ready for a new game. The scanner is only
+	 * 		opened once, but a game file and any input error from
+	 * 		the last game are forgotten, so a channel can be reused
+	 * 		for game after game.
+	 **************/
+	public void init() {
+		openScanner();
+		script = null;
+		inputError = false;
 	}
 	
 	/**************
 	 * Purpose:  Initialize the scanner. A scanner should only be
 	 * 		opened and closed once per execution.
 	 **************/
-	public static void init() {
-		if (!initialized) {
-			initialized = true;
-			s = new Scanner(System.in);
+	private void openScanner() {
+		if (s == null) {
+			s = stdinScanner();
 		}
 	}
 	
 	/**************
-	 * Purpose:  Close the scanner. A scanner should only be
-	 * 		opened and closed once per execution.
+	 * Purpose:  Close the scanner and the output sink. The shared
+	 * 		console scanner is left open, since other tables may
+	 * 		still be reading from System.in.
 	 **************/
-	public static void close() {
-		s.close();
+	public void close() {
+		if (s != null && s != stdin) {
+			s.close();
+		}
+		
+		sink.close();
+	}
+	
+	private static synchronized Scanner stdinScanner() {
+		if (stdin == null) {
+			stdin = new Scanner(System.in);
+		}
+		
+		return stdin;
 	}
 }
@@ -1,11 +1,17 @@
 package core;
 
 public class DealerPlayer extends Player {
+	protected Player opponent = null;
+	protected boolean debug = false;
 	
 	public DealerPlayer(Deck deck) {
 		super(deck);
 	}
 	
+	public DealerPlayer(Deck deck, ConsoleIO io) {
+		super(deck, io);
+	}
+	
 	/*************************
 	 * Purpose: Returns the dealer's hand in string form.
 	 * 		If the showHidden is true, all of the dealer's
@@ -13,42 +19,47 @@ public class DealerPlayer extends Player {
 	 * 		the dealer's second hand as well.
 	 *************************/
 	public String getHand(boolean showHidden) {
-		String dealerHand = "Dealer's Hand: ";
+		StringBuilder dealerHand = new StringBuilder("Dealer's Hand: ");
 		
-		if (showHidden || Game.debug) {
-			dealerHand += hand.getCards();
+		if (showHidden || debug) {
+			dealerHand.append(hand.getCards());
 		}
 		else {
 			final String hiddenCard = "[FACE DOWN]";
-			dealerHand += hand.getFirstCard();
+			dealerHand.append(hand.getFirstCard());
 			
 			for (int i = 1; i < hand.cards.size(); i++) {
-				dealerHand = dealerHand + ", " + hiddenCard;
+				dealerHand.append(", ").append(hiddenCard);
 			}
 		}
 		
 		if (splitHand != null) {
-			dealerHand += "\r\nDealer's Second Hand: " + splitHand.getCards();
+			dealerHand.append("\r\nDealer's Second Hand: ").append(splitHand.getCards());
 		}
 		
-		return dealerHand;
+		return dealerHand.toString();
 	}
 	
 	/*************************
 	 * Purpose: Checks if the dealer should hit on the current hand.
-	 * 		The dealer will hit if the hand score is below 16, or
-	 * 		is equal to 17 with 11 points coming from an ace. The
-	 * 		dealer also does not need to hit if the player has busted.
+	 * 		By default the dealer will hit if the hand score is below
+	 * 		16, or is equal to 17 with 11 points coming from an ace,
+	 * 		see Rules. The dealer also does not need to hit if the
+	 * 		player has busted.
 	 *************************/
 	public boolean checkHit() {
+		return checkHit(opponent);
+	}
+	
+	/*************************
+	 * Purpose: Same as checkHit(), but checks the given opponent
+	 * 		instead of the dealer's own opponent.
+	 *************************/
+	public boolean checkHit(Player opponent) {
 		boolean check = false;
-		int score = currentHand.getScore();
 		
-		if (Game.human.getBestHandState() != Hand.HandState.busted) {
-			if (score <= 16 || (
-				score == 17 && currentHand.getAceWorth11())) {
-			check = true;
-			}
+		if (opponent == null || opponent.getBestHandState() != Hand.HandState.busted) {
+			check = rules.dealerHits(currentHand.getScore(), currentHand.getAceWorth11());
 		}
 		
 		return check;
@@ -56,35 +67,46 @@ public class DealerPlayer extends Player {
 	
 	/*************************
 	 * Purpose: Take the dealer's turn. If the dealer's initial two
-	 * 		cards are identical in rank, and they total to 17 or less,
-	 * 		the dealer splits with split(). The dealer uses checkHit()
-	 * 		to decide if they should hit on each of their hand(s), until
-	 * 		they've busted or stayed on them. Finally, print the dealer's
-	 * 		full hand(s). 
+	 * 		cards are identical in rank, and they total to 17 or less
+	 * 		by default, the dealer splits with split(). The dealer
+	 * 		uses checkHit() to decide if they should hit on each of
+	 * 		their hand(s), until they've busted or stayed on them.
+	 * 		Finally, print the dealer's full hand(s). 
 	 *************************/
 	@Override
 	public void takeTurn(Deck deck) {
 		String extraHandString = "";
+		boolean quiet = io.isQuiet();
+		long start = Metrics.start();
 		
-		ConsoleIO.output(System.lineSeparator());
-		ConsoleIO.outputln(this.getHand(false));
+		if (!quiet) {
+			io.output(System.lineSeparator());
+			io.outputln(this.getHand(false));
+		}
 		
-		if (hand.canSplit() && hand.getScore() <= 17) {
+		if (rules.dealerSplits(hand)) {
 			split(deck);
 			extraHandString = " for their first hand";
-			ConsoleIO.outputln("\r\nThe dealer splits.");
-			ConsoleIO.outputln(this.getHand(true));
+			io.outputln("\r\nThe dealer splits.");
+			
+			if (!quiet) {
+				io.outputln(this.getHand(true));
+			}
 		}
 		
 		while(checkHit()) {
-			ConsoleIO.outputln("The dealer hits", extraHandString, ": ", currentHand.hit(deck).toString());
+			Card card = currentHand.hit(deck);
+			
+			if (!quiet) {
+				io.outputln("The dealer hits", extraHandString, ": ", card.toString());
+			}
 			
 			if (!checkHit()) {
 				if (currentHand.getState() == Hand.HandState.busted) {
-					ConsoleIO.outputln("The dealer busts", extraHandString, "!");
+					io.outputln("The dealer busts", extraHandString, "!");
 				}
 				else {
-					ConsoleIO.outputln("The dealer stays", extraHandString, ".");
+					io.outputln("The dealer stays", extraHandString, ".");
 				}
 				
 				if (split && currentHand == hand) {
@@ -94,6 +116,29 @@ public class DealerPlayer extends Player {
 			}
 		}
 		
-		ConsoleIO.outputln(this.getHand(true));
+		if (!quiet) {
+			io.outputln(this.getHand(true));
+		}
+		
+		Metrics.record(Metrics.Phase.dealerTurn, start);
+	}
+	
+	/*************************
+	 * Purpose: Play the dealer's turn against the given opponent
+	 * 		without printing anything. Follows the same rules as
+	 * 		takeTurn(), and is used by the headless simulation.
+	 *************************/
+	public void play(Deck deck, Player opponent) {
+		if (rules.dealerSplits(hand)) {
+			split(deck);
+		}
+		
+		while (checkHit(opponent)) {
+			currentHand.hit(deck);
+			
+			if (!checkHit(opponent) && split && currentHand == hand) {
+				currentHand = splitHand;
+			}
+		}
 	}
 }
@@ -0,0 +1,314 @@
+package core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class DealerProbabilities {
+	// indexes into the arrays returned by get(), 0 to 4 are final scores of 17 to 21
+	public static final int BUST = 5;
+	public static final int BLACKJACK = 6;
+	public static final int OUTCOMES = 7;
+	
+	// ranks are grouped by value, see Composition
+	public static final int RANKS = Composition.RANKS;
+	
+	private static final int MAX_CACHED_COMPOSITIONS = 1 << 20;
+	private static final double[][] FINAL_SCORES = new double[OUTCOMES][];
+	
+	static {
+		for (int i = 0; i < OUTCOMES; i++) {
+			FINAL_SCORES[i] = new double[OUTCOMES];
+			FINAL_SCORES[i][i] = 1;
+		}
+	}
+	
+	private final Map<Long, double[][]> results = new HashMap<Long, double[][]>();
+	private final Map<Long, double[][]> dealerHands = new HashMap<Long, double[][]>();
+	
+	
+	/**************
+	 * Purpose:  Returns the probability of each outcome for the
+	 * 		dealer, given their upcard and the cards left in the
+	 * 		deck (the upcard already removed). See BUST, BLACKJACK
+	 * 		and index(). The dealer follows DealerPlayer's rules:
+	 * 		they split pairs worth 17 or less, and hit on 16 or less
+	 * 		and on soft 17. The human is assumed not to have busted.
+	 * 		Results are remembered by upcard and composition, so a
+	 * 		repeated query is a single lookup. Not thread safe, so
+	 * 		each thread should use its own DealerProbabilities.
+	 **************/
+	public double[] get(Card upcard, Deck remaining) {
+		return get(upcard, Composition.of(remaining));
+	}
+	
+	public double[] get(Card upcard, int[] counts) {
+		return get(rankOf(upcard), Composition.pack(counts)).clone();
+	}
+	
+	public double[] get(Card upcard, Composition remaining) {
+		return get(rankOf(upcard), remaining.toLong()).clone();
+	}
+	
+	
+	/**************
+	 * Purpose:  Returns the index in the outcome array for a
+	 * 		final score from 17 to 21.
+	 **************/
+	public static int index(int score) {
+		return score - 17;
+	}
+	
+	
+	/**************
+	 * Purpose:  Counts the cards left in the deck by rank group,
+	 * 		using the counts the deck keeps as cards are drawn.
+	 **************/
+	public static int[] counts(Deck deck) {
+		return Composition.of(deck).toCounts();
+	}
+	
+	
+	public static int rankOf(Card card) {
+		return Composition.rankOf(card.value);
+	}
+	
+	
+	/**************
+	 * Purpose:  Empty the remembered results.
+	 **************/
+	public void clear() {
+		results.clear();
+		dealerHands.clear();
+	}
+	
+	
+	private double[] get(int upcard, long composition) {
+		double[][] byUpcard = results.get(composition);
+		
+		if (byUpcard == null) {
+			byUpcard = new double[RANKS][];
+			remember(results, composition, byUpcard);
+		}
+		if (byUpcard[upcard] == null) {
+			byUpcard[upcard] = calculate(upcard, composition);
+		}
+		
+		return byUpcard[upcard];
+	}
+	
+	
+	/**************
+	 * Purpose:  Deal every possible hole card. Two cards worth 21
+	 * 		are a blackjack, a pair worth 17 or less is split, and
+	 * 		anything else is played out by play().
+	 **************/
+	private double[] calculate(int upcard, long composition) {
+		double[] outcomes = new double[OUTCOMES];
+		int total = Composition.size(composition);
+		
+		for (int hole = 0; hole < RANKS; hole++) {
+			int count = Composition.count(composition, hole);
+			if (count == 0) continue;
+			
+			double p = (double) count / total;
+			long rest = Composition.remove(composition, hole);
+			boolean hasAce = upcard == 0 || hole == 0;
+			int hard = value(upcard) + value(hole);
+			
+			if (hasAce && hard == 11) {
+				outcomes[BLACKJACK] += p;
+			}
+			else if (upcard == hole && score(hard, hasAce) <= 17) {
+				add(outcomes, p, split(upcard, hole, rest));
+			}
+			else {
+				add(outcomes, p, play(rest, hard, hasAce));
+			}
+		}
+		
+		return outcomes;
+	}
+	
+	
+	/**************
+	 * Purpose:  Play one dealer hand until the dealer stays or
+	 * 		busts, returning the chance of each final score.
+	 **************/
+	private double[] play(long composition, int hard, boolean hasAce) {
+		double[] outcomes = finished(hard, hasAce);
+		
+		if (outcomes == null) {
+			double[][] byHand = dealerHands.get(composition);
+			int state = hard * 2 + (hasAce ? 1 : 0);
+			
+			if (byHand == null) {
+				byHand = new double[34][];
+				remember(dealerHands, composition, byHand);
+			}
+			
+			outcomes = byHand[state];
+			if (outcomes == null) {
+				outcomes = new double[OUTCOMES];
+				int total = Composition.size(composition);
+				
+				for (int rank = 0; rank < RANKS; rank++) {
+					int count = Composition.count(composition, rank);
+					if (count == 0) continue;
+					
+					add(outcomes, (double) count / total, 
+						play(Composition.remove(composition, rank), hard + value(rank), hasAce || rank == 0));
+				}
+				byHand[state] = outcomes;
+			}
+		}
+		
+		return outcomes;
+	}
+	
+	
+	/**************
+	 * Purpose:  Play a split the way DealerPlayer.takeTurn() does.
+	 * 		Each hand gets one card, then the first hand is played.
+	 * 		The second hand is only played if the first hand had to
+	 * 		hit. The result is the better of the two hands.
+	 **************/
+	private double[] split(int first, int second, long composition) {
+		double[] outcomes = new double[OUTCOMES];
+		int total = Composition.size(composition);
+		
+		for (int a = 0; a < RANKS; a++) {
+			int countA = Composition.count(composition, a);
+			if (countA == 0) continue;
+			
+			long afterA = Composition.remove(composition, a);
+			int totalB = total - 1;
+			
+			for (int b = 0; b < RANKS; b++) {
+				int countB = Composition.count(afterA, b);
+				if (countB == 0) continue;
+				
+				double p = (double) countA / total * countB / totalB;
+				int firstHard = value(first) + value(a);
+				boolean firstAce = first == 0 || a == 0;
+				int secondHard = value(second) + value(b);
+				boolean secondAce = second == 0 || b == 0;
+				long rest = Composition.remove(afterA, b);
+				
+				if (needsHit(firstHard, firstAce)) {
+					add(outcomes, p, playFirstHand(rest, firstHard, firstAce, secondHard, secondAce));
+				}
+				else {
+					outcomes[best(score(firstHard, firstAce), score(secondHard, secondAce))] += p;
+				}
+			}
+		}
+		
+		return outcomes;
+	}
+	
+	
+	/**************
+	 * Purpose:  Hit the first split hand until it is done, then
+	 * 		play the second hand with the cards that are left.
+	 **************/
+	private double[] playFirstHand(long composition, int hard, boolean hasAce, int secondHard, boolean secondAce) {
+		double[] outcomes = new double[OUTCOMES];
+		int total = Composition.size(composition);
+		
+		for (int rank = 0; rank < RANKS; rank++) {
+			int count = Composition.count(composition, rank);
+			if (count == 0) continue;
+			
+			double p = (double) count / total;
+			long rest = Composition.remove(composition, rank);
+			int newHard = hard + value(rank);
+			boolean newAce = hasAce || rank == 0;
+			
+			if (needsHit(newHard, newAce)) {
+				add(outcomes, p, playFirstHand(rest, newHard, newAce, secondHard, secondAce));
+			}
+			else {
+				int firstScore = score(newHard, newAce);
+				double[] second = play(rest, secondHard, secondAce);
+				
+				for (int i = 0; i < BUST; i++) {
+					outcomes[best(firstScore, i + 17)] += p * second[i];
+				}
+				outcomes[best(firstScore, 22)] += p * second[BUST];
+			}
+		}
+		
+		return outcomes;
+	}
+	
+	
+	/**************
+	 * Purpose:  Returns the outcome for a finished hand, or null
+	 * 		if the dealer would hit on it. The arrays are shared,
+	 * 		so they must not be changed.
+	 **************/
+	private static double[] finished(int hard, boolean hasAce) {
+		double[] outcomes = null;
+		int score = score(hard, hasAce);
+		
+		if (score > 21) {
+			outcomes = FINAL_SCORES[BUST];
+		}
+		else if (!needsHit(hard, hasAce)) {
+			outcomes = FINAL_SCORES[index(score)];
+		}
+		
+		return outcomes;
+	}
+	
+	
+	/**************
+	 * Purpose:  Same rule as DealerPlayer.checkHit(), hit on 16 or
+	 * 		less, or on 17 with an ace worth 11.
+	 **************/
+	private static boolean needsHit(int hard, boolean hasAce) {
+		int score = score(hard, hasAce);
+		
+		return score <= 16 || (score == 17 && score != hard);
+	}
+	
+	
+	/**************
+	 * Purpose:  Same as Player.getBestHandScore(), the higher
+	 * 		score that isn't busted.
+	 **************/
+	private static int best(int first, int second) {
+		int bestScore = first <= 21 ? first : 0;
+		
+		if (second <= 21 && bestScore <= second) {
+			bestScore = second;
+		}
+		
+		return bestScore == 0 ? BUST : index(bestScore);
+	}
+	
+	
+	private static int score(int hard, boolean hasAce) {
+		return hasAce && hard + 10 <= 21 ? hard + 10 : hard;
+	}
+	
+	
+	private static int value(int rank) {
+		return rank + 1;
+	}
+	
+	
+	private static void add(double[] outcomes, double p, double[] more) {
+		for (int i = 0; i < OUTCOMES; i++) {
+			outcomes[i] += p * more[i];
+		}
+	}
+	
+	
+	private void remember(Map<Long, double[][]> cache, long composition, double[][] value) {
+		if (cache.size() >= MAX_CACHED_COMPOSITIONS) {
+			cache.clear();
+		}
+		cache.put(composition, value);
+	}
+}
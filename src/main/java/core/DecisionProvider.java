@@ -0,0 +1,153 @@
+package core;
+
+/**************
+ * Purpose:  Decides what a player does with their current hand.
+ * 		Hitting and staying are always allowed, and splitting only
+ * 		when canSplit is true. Bots decide with a plain method call,
+ * 		so they play as fast as the rest of the game.
+ **************/
+public interface DecisionProvider {
+	
+	/**************
+	 * Purpose:  Return the action for the current hand, or null if
+	 * 		no decision can be made, e.g. a script has run out of
+	 * 		commands. A null decision ends the player's turn.
+	 **************/
+	Player.Action decide(Hand hand, Card dealerUpcard, boolean canSplit);
+	
+	
+	/**************
+	 * Purpose:  Ask the human through their ConsoleIO, the same
+	 * 		way HumanPlayer always has. Anything that isn't an
+	 * 		allowed action is answered with a message, and the
+	 * 		human is asked again. When the ConsoleIO is reading a
+	 * 		game file, the file's commands are used instead.
+	 **************/
+	static DecisionProvider console(final ConsoleIO io, final HumanPlayer human) {
+		return new DecisionProvider() {
+			@Override
+			public Player.Action decide(Hand hand, Card dealerUpcard, boolean canSplit) {
+				Player.Action action = null;
+				
+				while (action == null && !io.inputError) {
+					String handText = human.getHandText();
+					String response = io.input("\r\nWould you like to (h)hit, (s)stay, or (d) split", handText, "? ");
+					
+					switch (response) {
+						case "H" :
+							action = Player.Action.hit;
+							break;
+							
+						case "S" :
+							action = Player.Action.stay;
+							break;
+							
+						case "D" :
+							if (canSplit) {
+								action = Player.Action.split;
+							}
+							else {
+								io.outputln("You may only split when your initial two cards are of the same rank.");
+							}
+							break;
+							
+						default :
+							io.outputln("That's not a valid option.\r\n");
+							break;
+					}
+				}
+				
+				return action;
+			}
+		};
+	}
+	
+	
+	/**************
+	 * Purpose:  Take each decision from the next command in a game
+	 * 		file. A split that isn't allowed is skipped.
+	 **************/
+	static DecisionProvider script(final ScriptReader script) {
+		return new DecisionProvider() {
+			@Override
+			public Player.Action decide(Hand hand, Card dealerUpcard, boolean canSplit) {
+				Player.Action action = null;
+				String command = script.nextCommand();
+				
+				while (action == null && command != null) {
+					if (command.equals("H")) {
+						action = Player.Action.hit;
+					}
+					else if (command.equals("S")) {
+						action = Player.Action.stay;
+					}
+					else if (command.equals("D") && canSplit) {
+						action = Player.Action.split;
+					}
+					else {
+						command = script.nextCommand();
+					}
+				}
+				
+				return action;
+			}
+		};
+	}
+	
+	
+	/**************
+	 * Purpose:  Play from a strategy table, see StrategyTable.
+	 **************/
+	static DecisionProvider table(final StrategyTable table) {
+		return new DecisionProvider() {
+			@Override
+			public Player.Action decide(Hand hand, Card dealerUpcard, boolean canSplit) {
+				return table.getAction(hand, dealerUpcard, canSplit);
+			}
+		};
+	}
+	
+	
+	/**************
+	 * Purpose:  Hit until the hand reaches the given score, then
+	 * 		stay. Never splits.
+	 **************/
+	static DecisionProvider standOn(final int score) {
+		return new DecisionProvider() {
+			@Override
+			public Player.Action decide(Hand hand, Card dealerUpcard, boolean canSplit) {
+				return hand.getScore() < score ? Player.Action.hit : Player.Action.stay;
+			}
+		};
+	}
+	
+	
+	/**************
+	 * Purpose:  Play the hand the way the dealer would under the
+	 * 		given rules, see Rules.dealerHits(). Never splits.
+	 **************/
+	static DecisionProvider dealer(final Rules rules) {
+		return new DecisionProvider() {
+			@Override
+			public Player.Action decide(Hand hand, Card dealerUpcard, boolean canSplit) {
+				return rules.dealerHits(hand.getScore(), hand.getAceWorth11()) ? Player.Action.hit : Player.Action.stay;
+			}
+		};
+	}
+	
+	
+	/**************
+	 * Purpose:  Pick any allowed action at random. Useful as a
+	 * 		baseline, and for testing that every action is handled.
+	 **************/
+	static DecisionProvider random(final RandomSource random) {
+		final Player.Action[] actions = Player.Action.values();
+		
+		return new DecisionProvider() {
+			@Override
+			public Player.Action decide(Hand hand, Card dealerUpcard, boolean canSplit) {
+				return actions[random.nextInt(canSplit ? 3 : 2)];
+			}
+		};
+	}
+}
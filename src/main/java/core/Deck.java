@@ -3,74 +3,274 @@ package core;
 import java.util.*;
 
 public class Deck {	
-	public static String[] suits = {"C", "D", "H", "S"};
-	public static Map<String, Integer> ranks = new HashMap<String, Integer>();
-	public List<Card> cards = new ArrayList<Card>();
+	private static final int[] ORDERED = new int[Card.DECK_SIZE];
+	private static final int[] RANK = new int[Card.DECK_SIZE];		// rank index of each card code
+	private static final int[] HI_LO = new int[Card.DECK_SIZE];		// Hi-Lo count of each card code
 	
-	public Deck() {
-		populateRanks();
-		
-		for (String s : suits) {
-			for (String r : ranks.keySet()) {
-				cards.add(new Card(s, r, ranks.get(r)));
-			}
+	protected int[] cards;		// card codes, see Card.of()
+	protected int top = 0;		// index of the next card to draw
+	protected int size;			// number of cards in the array, drawn or not
+	protected RandomSource random = RandomSource.threadLocal();
+	
+	// counting state, kept up to date as cards are drawn
+	protected int[] remaining = new int[Card.RANKS.length];		// cards left of each rank
+	protected int[] composition = new int[Card.RANKS.length];	// every card of each rank, drawn or not
+	protected int runningCount = 0;
+	
+	static {
+		for (int code = 0; code < ORDERED.length; code++) {
+			int value = Card.valueOf(code);
+			
+			ORDERED[code] = code;
+			RANK[code] = Card.rankIndexOf(code);
+			HI_LO[code] = value >= 2 && value <= 6 ? 1 : value >= 7 && value <= 9 ? 0 : -1;
 		}
+	}
+	
+	public Deck() {
+		cards = ORDERED.clone();
+		size = cards.length;
+		recount();
 	}	
 	
+	public Deck(RandomSource random) {
+		this();
+		this.random = random;
+	}
+	
+
+	/**************
+	 * Purpose:  Change where the deck gets its random numbers
+	 * 		from. A seeded source makes every shuffle repeatable.
+	 **************/
+	public void setRandom(RandomSource random) {
+		this.random = random;
+	}
+	
+	
+	public RandomSource getRandom() {
+		return random;
+	}
+	
 
 	/**************
-	 * Purpose:  Use a built-in function to shuffle
-	 * 		the cards in a deck randomly.
+	 * Purpose:  Shuffle the cards left in the deck
+	 * 		randomly, in place.
 	 **************/
 	public void shuffle() {
-		Collections.shuffle(cards);
+		for (int i = size - 1; i > top; i--) {
+			int j = top + random.nextInt(i - top + 1);
+			int swap = cards[i];
+			cards[i] = cards[j];
+			cards[j] = swap;
+		}
 	}
 	
 	
 	/**************
-	 * Purpose:  Remove the first element of the deck,
-	 * 		and return it. The deck list with re-size
-	 * 		itself.
+	 * Purpose:  Return the next card in the deck. Cards
+	 * 		are not moved, only the position of the top
+	 * 		of the deck changes.
 	 **************/
 	public Card draw() {
-		return cards.remove(0);
+		return Card.of(drawCode());
 	}
 	
 	
 	/**************
-	 * Purpose:  Check for duplicate cards in a deck 
-	 * 		duplicateSet.Add() returns false if the 
-     *    	item already exists in the set.
+	 * Purpose:  Same as draw(), but returns the card's code, for
+	 * 		callers that never need the card itself.
 	 **************/
-	public boolean checkDuplicates() {
-		boolean check = true;
-		Set<String> duplicateSet = new HashSet<String>();
+	public int drawCode() {
+		if (top >= size) {
+			throw new IndexOutOfBoundsException("The deck is empty.");
+		}
+		
+		int code = cards[top++];
+		seen(code);
+		
+		return code;
+	}
+	
+	
+	/**************
+	 * Purpose:  Put every drawn card back into the deck,
+	 * 		in the same order they were drawn. The count
+	 * 		starts again from zero.
+	 **************/
+	public void reset() {
+		top = 0;
+		runningCount = 0;
+		System.arraycopy(composition, 0, remaining, 0, remaining.length);
+	}
+	
+	
+	/**************
+	 * Purpose:  The Hi-Lo count of every card drawn since the
+	 * 		last reset: +1 for 2 to 6, -1 for tens and aces.
+	 **************/
+	public int getRunningCount() {
+		return runningCount;
+	}
+	
+	
+	/**************
+	 * Purpose:  The running count divided by the number of decks
+	 * 		left to draw.
+	 **************/
+	public double getTrueCount() {
+		int left = size();
+		
+		return left == 0 ? 0 : runningCount * (double) Card.DECK_SIZE / left;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the number of cards of a rank left to draw,
+	 * 		where the rank is its position in Card.RANKS.
+	 **************/
+	public int getRemaining(int rankIndex) {
+		return remaining[rankIndex];
+	}
+	
+	
+	/**************
+	 * Purpose:  Update the count for a card that has just been
+	 * 		drawn.
+	 **************/
+	protected void seen(int code) {
+		runningCount += HI_LO[code];
+		remaining[RANK[code]]--;
+	}
+	
+	
+	/**************
+	 * Purpose:  Count the cards from scratch. Only needed when
+	 * 		the cards array is filled in directly.
+	 **************/
+	protected void recount() {
+		Arrays.fill(composition, 0);
+		Arrays.fill(remaining, 0);
+		runningCount = 0;
 		
-		for (Card element : cards) {
-			check = duplicateSet.add(element.toString());
-			if (!check) break;
+		for (int i = 0; i < size; i++) {
+			composition[RANK[cards[i]]]++;
+			
+			if (i >= top) {
+				remaining[RANK[cards[i]]]++;
+			}
+			else {
+				runningCount += HI_LO[cards[i]];
+			}
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Put every drawn card back into the deck
+	 * 		and shuffle it.
+	 **************/
+	public void reshuffle() {
+		reset();
+		shuffle();
+	}
+	
+	
+	/**************
+	 * Purpose:  Called before each round is dealt. Reshuffles the
+	 * 		deck if needsShuffle() says so.
+	 **************/
+	public void startRound() {
+		if (needsShuffle()) {
+			reshuffle();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Checks if the deck should be reshuffled
+	 * 		before the next game. A single deck is 
+	 * 		reshuffled once any card has been drawn.
+	 **************/
+	public boolean needsShuffle() {
+		return top > 0;
+	}
+	
+	
+	/**************
+	 * Purpose:  Add a card to the bottom of the deck.
+	 **************/
+	public void add(Card card) {
+		if (card.code < 0) {
+			throw new IllegalArgumentException("Not a card in a standard deck: " + card);
+		}
+		if (size == cards.length) {
+			cards = Arrays.copyOf(cards, Math.max(cards.length * 2, Card.DECK_SIZE));
 		}
 		
-		return check;
+		cards[size++] = card.code;
+		composition[RANK[card.code]]++;
+		remaining[RANK[card.code]]++;
 	}
 	
 	
 	/**************
-	 * Purpose:  Maps card ranks to their values.
+	 * Purpose:  Remove every card from the deck.
 	 **************/
-	private void populateRanks() {
-		ranks.put("A", 0);
-		ranks.put("2", 2);
-		ranks.put("3", 3);
-		ranks.put("4", 4);
-		ranks.put("5", 5);
-		ranks.put("6", 6);
-		ranks.put("7", 7);
-		ranks.put("8", 8);
-		ranks.put("9", 9);
-		ranks.put("10", 10);
-		ranks.put("J", 10);
-		ranks.put("Q", 10);
-		ranks.put("K", 10);
+	public void clear() {
+		top = 0;
+		size = 0;
+		recount();
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the number of cards left to draw.
+	 **************/
+	public int size() {
+		return size - top;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return a card left in the deck without
+	 * 		drawing it. 0 is the top of the deck.
+	 **************/
+	public Card get(int index) {
+		return Card.of(cards[top + index]);
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the cards left in the deck as a
+	 * 		new list, top card first.
+	 **************/
+	public List<Card> getCards() {
+		List<Card> list = new ArrayList<Card>(size());
+		
+		for (int i = top; i < size; i++) {
+			list.add(Card.of(cards[i]));
+		}
+		
+		return list;
+	}
+	
+	
+	/**************
+	 * Purpose:  Check for duplicate cards left in the deck.
+	 * 		Each card code sets one bit, so a bit that is 
+	 * 		already set is a duplicate.
+	 **************/
+	public boolean checkDuplicates() {
+		boolean check = true;
+		long seen = 0;
+		
+		for (int i = top; i < size && check; i++) {
+			long bit = 1L << cards[i];
+			check = (seen & bit) == 0;
+			seen |= bit;
+		}
+		
+		return check;
 	}
 }
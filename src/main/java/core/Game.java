@@ -1,5 +1,7 @@
 package core;
 
+import java.io.IOException;
+
 public class Game {
 	
 	enum GameState {
@@ -9,19 +11,106 @@ public class Game {
 		invalid
 	}
 	
-	public static GameState gameState = GameState.invalid;
-	public static boolean debug;
+	// how a round ended for the human, the ordinals are written to journals
+	enum Outcome {
+		won,
+		lost,
+		push
+	}
+	
+	public GameState gameState = GameState.invalid;
+	public boolean debug;
 	
-	protected static HumanPlayer human;
-	protected static DealerPlayer dealer;
-	protected static Deck deck;	
+	protected HumanPlayer human;
+	protected DealerPlayer dealer;
+	protected Deck deck;
+	protected ConsoleIO io;
+	protected String inputFile = INPUT_FILE;
+	protected RoundJournal journal = null;
+	protected Rules rules = Rules.DEFAULT;
+	protected DecisionProvider decisions = null;
+	protected Outcome outcome = null;		// set once play() has settled the round
 	private final static String INPUT_FILE = "src/main/resources/input files/file1.txt";
 	
-	public static void main(String[] args) {
-		ConsoleIO.init();
+	/**************
+	 * Purpose: Create a table that plays on the console.
+	 **************/
+	public Game() {
+		this(new ConsoleIO());
+	}
+	
+	/**************
+	 * Purpose: Create a table that uses the given IO channel. Each
+	 * 		table owns its deck, players and IO, so many tables can
+	 * 		be played at once.
+	 **************/
+	public Game(ConsoleIO io) {
+		this.io = io;
+	}
+	
+	/**************
+	 * Purpose: Create a table that plays the given game file
+	 * 		without asking for the input type.
+	 **************/
+	public Game(ConsoleIO io, String inputFile) {
+		this(io);
+		this.inputFile = inputFile;
+		this.gameState = GameState.file;
+	}
+	
+	/**************
+	 * Purpose: Play one game at the console. If a file is given,
+	 * 		the round is appended to it as a RoundJournal.
+	 **************/
+	public static void main(String[] args) throws IOException {
+		Game game = new Game();
+		
+		Metrics.enable(game.io);
+		
+		if (args.length > 0) {
+			try (RoundJournal journal = new RoundJournal(args[0])) {
+				game.setJournal(journal);
+				game.play();
+			}
+		}
+		else {
+			game.play();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose: Record every round played at this table in the
+	 * 		given journal. The journal is not closed by the table.
+	 **************/
+	public void setJournal(RoundJournal journal) {
+		this.journal = journal;
+	}
+	
+	
+	public void setRules(Rules rules) {
+		this.rules = rules;
+	}
+	
+	
+	/**************
+	 * Purpose: Take the human's decisions from the given provider
+	 * 		instead of asking through the ConsoleIO.
+	 **************/
+	public void setDecisions(DecisionProvider decisions) {
+		this.decisions = decisions;
+	}
+	
+	
+	/**************
+	 * Purpose: Ask for the input type, then play one game at this
+	 * 		table.
+	 **************/
+	public void play() {
+		io.init();
 		
 		while (gameState == GameState.invalid) {
-			setGameState(ConsoleIO.input("Would you like to use (c)console or (f)file input?: "));
+			setGameState(io.input("Would you like to use (c)console or (f)file input?: "));
 		}
 		
 		if (gameState != GameState.quit) {
@@ -29,15 +118,20 @@ public class Game {
 			setUp();
 			takePlayerTurns();
 			
-			if (!ConsoleIO.inputError) {
-				showWinner();
+			if (!io.inputError) {
+				outcome = getWinner();
+				showWinner(outcome);
+				
+				if (journal != null) {
+					journal.record(human, dealer, outcome);
+				}
 			}
 			else {
-				ConsoleIO.output("There was an issue with the input file. Please verify that there are no duplicate cards, and the player commands are sufficient.");
+				io.output("There was an issue with the input file. Please verify that there are no duplicate cards, and the player commands are sufficient.");
 			}
 		}
 		
-		ConsoleIO.close();
+		io.close();
 	}
 
 	
@@ -46,11 +140,11 @@ public class Game {
 	 * 		takes the players' turns. If the human busted, the dealer
 	 * 		doesn't take their turn.
 	 **************/
-	protected static void takePlayerTurns() {
-		if (!ConsoleIO.inputError) {
+	protected void takePlayerTurns() {
+		if (!io.inputError) {
 			if (!checkInitialBlackjack()) {
 				human.takeTurn(deck);
-				if (human.getBestHandState() != Hand.HandState.busted && !ConsoleIO.inputError) {
+				if (human.getBestHandState() != Hand.HandState.busted && !io.inputError) {
 					dealer.takeTurn(deck);
 				}
 			}
@@ -63,23 +157,39 @@ public class Game {
 	 * 		ConsoleIO.readInputFile(). For both types of input, create
 	 * 		the players and print the hands.
 	 **************/
-	protected static void setUp() {
+	protected void setUp() {
+		long start = Metrics.start();
+		
 		if (gameState == GameState.console) {
 			deck = new Deck();
 			deck.shuffle();
 		}
 		else if (gameState == GameState.file) {
-			ConsoleIO.readInputFile(INPUT_FILE);
+			deck = io.readInputFile(inputFile);
 		}
 
-		if (!ConsoleIO.inputError) {
-			human = new HumanPlayer(deck);
-			dealer = new DealerPlayer(deck);
-			ConsoleIO.outputln(System.lineSeparator());
-			ConsoleIO.outputln(dealer.getHand(false));
-			ConsoleIO.outputln(human.getHand());
-			ConsoleIO.output(System.lineSeparator());
+		if (!io.inputError) {
+			human = new HumanPlayer(deck, io);
+			dealer = new DealerPlayer(deck, io);
+			human.setRules(rules);
+			dealer.setRules(rules);
+			dealer.opponent = human;
+			dealer.debug = debug;
+			human.setDealerUpcard(dealer.hand.cards.get(0));
+			
+			if (decisions != null) {
+				human.setDecisions(decisions);
+			}
+		}
+		
+		if (!io.inputError && !io.isQuiet()) {
+			io.outputln(System.lineSeparator());
+			io.outputln(dealer.getHand(false));
+			io.outputln(human.getHand());
+			io.output(System.lineSeparator());
 		}
+		
+		Metrics.record(Metrics.Phase.setUp, start);
 	}
 	
 	
@@ -89,10 +199,10 @@ public class Game {
 	 * 				means that user input and all of the drawn cards
 	 * 				are taken from a file.
 	 * Input:   Raw user input.
-	 * Output:  No return value. Modifies 'Game.gameState'.
+	 * Output:  No return value. Modifies 'gameState'.
 	 * Created:	12/09/2018
 	 **************/
-	protected static void setGameState(String validatedInput) {		
+	protected void setGameState(String validatedInput) {		
 		
 		if (validatedInput.equals("C")) {
 			gameState = GameState.console;
@@ -112,7 +222,7 @@ public class Game {
 			debug = true;
 		}
 		else {
-			ConsoleIO.output("Invalid input. Please enter 'C' for console input, 'F' for file input, or 'Q' to quit.\r\n");
+			io.output("Invalid input. Please enter 'C' for console input, 'F' for file input, or 'Q' to quit.\r\n");
 			gameState = GameState.invalid;
 		}
 	}
@@ -120,78 +230,113 @@ public class Game {
 	
 	/**************
 	 * Purpose: Check if either of the players have an initial
-	 * 		blackjack.
+	 * 		blackjack. Both players' flags are set from their
+	 * 		current hands, so none is left over from an earlier
+	 * 		hand.
 	 **************/
-	protected static boolean checkInitialBlackjack() {
-		boolean check = false;
-		
-		if (dealer.getBestHandState() == Hand.HandState.blackjack) {
-			check = true;
-			dealer.initialBlackjack = true;
-		}
-		if (human.getBestHandState() == Hand.HandState.blackjack) {
-			check = true;
-			human.initialBlackjack = true;
-		}
+	protected boolean checkInitialBlackjack() {
+		dealer.initialBlackjack = dealer.getBestHandState() == Hand.HandState.blackjack;
+		human.initialBlackjack = human.getBestHandState() == Hand.HandState.blackjack;
 		
-		return check;
+		return dealer.initialBlackjack || human.initialBlackjack;
 	}
 	
 	
 	/**************
 	 * Purpose: Print the full hands and final scores of both players.
 	 **************/
-	protected static void displayBothHands() {
-		ConsoleIO.output(System.lineSeparator());
-		ConsoleIO.output(dealer.getHand(true) + " Final Score: " + dealer.getBestHandScore() + System.lineSeparator());
-		ConsoleIO.output(human.getHand() + " Final Score: " + human.getBestHandScore() + System.lineSeparator());
+	protected void displayBothHands() {
+		if (!io.isQuiet()) {
+			io.output(System.lineSeparator());
+			io.output(dealer.getHand(true), " Final Score: ", Integer.toString(dealer.getBestHandScore()), System.lineSeparator());
+			io.output(human.getHand(), " Final Score: ", Integer.toString(human.getBestHandScore()), System.lineSeparator());
+		}
 	}
 	
 	
 	/**************
-	 * Purpose: Checks if the human won. True if they did, false if
-	 * 		the dealer won.
+	 * Purpose: Checks who won the round at this table, see
+	 * 		getOutcome().
 	 **************/
-	protected static boolean getWinner() {
-		boolean humanWon = false;
+	protected Outcome getWinner() {
+		long start = Metrics.start();
 		
 		checkInitialBlackjack();
+		Outcome outcome = getOutcome(human, dealer);
+		
+		Metrics.record(Metrics.Phase.getWinner, start);
+		
+		return outcome;
+	}
+	
+	
+	/**************
+	 * Purpose: Settle a finished round, where the players'
+	 * 		initialBlackjack flags have already been set. A tie is
+	 * 		a push, and two blackjacks follow the table's rules.
+	 **************/
+	public static Outcome getOutcome(Player human, DealerPlayer dealer) {
+		Outcome outcome;
 		
-		// the player has an initial blackjack and the dealer doesn't
-		if (!dealer.initialBlackjack && human.initialBlackjack) {
-			humanWon = true;
+		if (human.initialBlackjack || dealer.initialBlackjack) {
+			if (human.initialBlackjack && dealer.initialBlackjack) {
+				outcome = dealer.rules.blackjackTie == Rules.BlackjackTie.push ?
+						  Outcome.push : Outcome.lost;
+			}
+			else if (human.initialBlackjack) {
+				outcome = Outcome.won;
+			}
+			else {
+				outcome = Outcome.lost;
+			}
 		}
-		// the dealer busts, and the player is safe
-		// neither player busts, and the human's score is higher
-		else if (human.getBestHandState() == Hand.HandState.safe && (
-				dealer.getBestHandState() == Hand.HandState.busted ||
-				human.getBestHandScore() > dealer.getBestHandScore())) {
-			humanWon = true;
+		else if (human.getBestHandState() == Hand.HandState.busted) {
+			outcome = Outcome.lost;
 		}
-	
-		return humanWon;
+		else if (dealer.getBestHandState() == Hand.HandState.busted ||
+				 human.getBestHandScore() > dealer.getBestHandScore()) {
+			outcome = Outcome.won;
+		}
+		else if (human.getBestHandScore() == dealer.getBestHandScore()) {
+			outcome = Outcome.push;
+		}
+		else {
+			outcome = Outcome.lost;
+		}
+		
+		return outcome;
 	}
 	
 	
 	/**************
-	 * Purpose: Print whether the human won or lost, and if someone
-	 * 		got an initial blackjack.
+	 * Purpose: Print whether the human won, lost or pushed, and if
+	 * 		someone got an initial blackjack.
 	 **************/
-	private static void showWinner() {
-		if (!ConsoleIO.inputError) {
+	private void showWinner(Outcome outcome) {
+		if (!io.inputError) {
 			displayBothHands();
 			
-			if (getWinner()) {
-				if (checkInitialBlackjack()) {
-					ConsoleIO.output("You got an initial blackjack, and the dealer didn't!");
-				}
-				ConsoleIO.output("You won!");
-			}
-			else {
-				if (checkInitialBlackjack()) {
-					ConsoleIO.output("The dealer got an initial blackjack! ");
-				}
-				ConsoleIO.output("You lost!");
+			switch (outcome) {
+				case won :
+					if (checkInitialBlackjack()) {
+						io.output("You got an initial blackjack, and the dealer didn't!");
+					}
+					io.output("You won!");
+					break;
+					
+				case lost :
+					if (checkInitialBlackjack()) {
+						io.output("The dealer got an initial blackjack! ");
+					}
+					io.output("You lost!");
+					break;
+					
+				default :
+					if (checkInitialBlackjack()) {
+						io.output("You and the dealer both got an initial blackjack! ");
+					}
+					io.output("It's a push!");
+					break;
 			}
 		}
 		
@@ -2,7 +2,6 @@ package core;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class Hand {
 	public enum HandState {
@@ -14,11 +13,43 @@ public class Hand {
 
 	protected List<Card> cards = new ArrayList<Card>();
 	
+	private int hardTotal = 0;			// every ace counted as 1
+	private int aces = 0;
+	private int score = 0;
+	private HandState state = HandState.safe;
 	private boolean aceWorth11 = false;
 	private boolean alreadyHit = false;
 	
 	public void add(Card card) {
 		cards.add(card);
+		
+		if (card.value == 0) {
+			hardTotal += 1;
+			aces += 1;
+		}
+		else {
+			hardTotal += card.value;
+		}
+		update();
+	}
+	
+	/*************************
+	 * Purpose: Remove the card at the given position, and keep
+	 * 		the score up to date. Used when splitting.
+	 *************************/
+	protected Card remove(int index) {
+		Card card = cards.remove(index);
+		
+		if (card.value == 0) {
+			hardTotal -= 1;
+			aces -= 1;
+		}
+		else {
+			hardTotal -= card.value;
+		}
+		update();
+		
+		return card;
 	}
 	
 	/*************************
@@ -26,13 +57,32 @@ public class Hand {
 	 * 		with the cards joined by ', '.
 	 *************************/
 	public String getCards() {
-		String playerHand = cards.stream().map(i -> i.toString()).collect(Collectors.joining(", "));
+		StringBuilder playerHand = new StringBuilder();
+		
+		for (int i = 0; i < cards.size(); i++) {
+			if (i > 0) {
+				playerHand.append(", ");
+			}
+			playerHand.append(cards.get(i));
+		}
 		
 		if (cards.size() == 0) {
-			playerHand = "Empty";
+			playerHand.append("Empty");
 		}
 		
-		return playerHand;
+		return playerHand.toString();
+	}
+	
+	/*************************
+	 * Purpose: Empty the hand so it can be dealt again. The list
+	 * 		that holds the cards is kept, so nothing is allocated.
+	 *************************/
+	public void reset() {
+		cards.clear();
+		hardTotal = 0;
+		aces = 0;
+		alreadyHit = false;
+		update();
 	}
 	
 	/*************************
@@ -45,39 +95,27 @@ public class Hand {
 	
 	
 	/*************************
-	 * Purpose: Calculates a hand's score. The values are added up,
-	 * 		with the aces initially counting as 11. Then, for each
-	 * 		aces in the hand and as long as the score is above 21,
-	 * 		subtract 10. If there is still an ace worth 11, aceWorth11
-	 * 		will be set to true.
+	 * Purpose: Returns the hand's score. The score is kept up to
+	 * 		date as cards are added, see update().
 	 *************************/
 	public int getScore() {
-		int score = 0;
-		int acesCount = 0;
-		
-		for (Card card : cards) {
-			if (card.value == 0) {
-				score += 11;
-				acesCount += 1;
-				aceWorth11 = true;
-			}
-			else {
-				score += card.value;
-			}
-		}
-		
-		for (int i = acesCount; i > 0 && score > 21; i--) {
-			score -= 10;
-		}
-		if (acesCount == 0) {
-			aceWorth11 = false;
-		}
-		
 		return score;
 	}
 	
 	/*************************
-	 * Purpose: Returns the sate of the hand. 
+	 * Purpose: Returns the sate of the hand, which is kept up to
+	 * 		date as cards are added, see update().
+	 *************************/
+	public HandState getState() {
+		return state;
+	}
+	
+	/*************************
+	 * Purpose: Recalculates the score and state from the running
+	 * 		totals, without looking at the cards.
+	 * The score is the total with every ace counted as 1. If there
+	 * 		is an ace and adding 10 doesn't go above 21, one ace is
+	 * 		worth 11 and aceWorth11 is set to true.
 	 * If the score is greater than 21, the hand is busted.
 	 * If the score is equal to 21, there is an ace worth 11,
 	 * 		and the player has not hit on the hand, the hand
@@ -85,9 +123,9 @@ public class Hand {
 	 * If the score is less than or equal to 21, the hand is
 	 * 		safe.
 	 *************************/
-	public HandState getState() {
-		HandState state = HandState.invalid;
-		int score = this.getScore();
+	private void update() {
+		aceWorth11 = aces > 0 && hardTotal + 10 <= 21;
+		score = aceWorth11 ? hardTotal + 10 : hardTotal;
 		
 		if (score > 21) {
 			state = HandState.busted;
@@ -98,8 +136,6 @@ public class Hand {
 		else {
 			state = HandState.safe;
 		}
-		
-		return state;
 	}
 
 	/*************************
@@ -0,0 +1,69 @@
+package core;
+
+/**************
+ * Purpose:  Scores and classifies many hands at once, the same
+ * 		way as Hand.update(). Each hand is given by its total with
+ * 		every ace counted as 1, its number of aces and whether it
+ * 		has been hit. States are the ordinals of Hand.HandState.
+ * 		The vector evaluator is only there when the project was
+ * 		built with the vector profile and the JVM was started with
+ * 		--add-modules jdk.incubator.vector.
+ **************/
+public interface HandEvaluator {
+	int SAFE = Hand.HandState.safe.ordinal();
+	int BLACKJACK = Hand.HandState.blackjack.ordinal();
+	int BUSTED = Hand.HandState.busted.ordinal();
+	
+	/**************
+	 * Purpose:  Work out the score, softness and state of the
+	 * 		hands from index from up to, but not including, to.
+	 **************/
+	void evaluate(int[] hardTotal, int[] aces, boolean[] alreadyHit, 
+				  int[] score, boolean[] soft, int[] state, int from, int to);
+	
+	
+	static HandEvaluator scalar() {
+		return ScalarEvaluator.INSTANCE;
+	}
+	
+	
+	/**************
+	 * Purpose:  The vector evaluator if it can be loaded, or else
+	 * 		the scalar one.
+	 **************/
+	static HandEvaluator best() {
+		HandEvaluator evaluator = scalar();
+		
+		try {
+			evaluator = (HandEvaluator) Class.forName("core.VectorHandEvaluator").getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			// not built with the vector profile, or the module wasn't added
+		}
+		
+		return evaluator;
+	}
+	
+	
+	enum ScalarEvaluator implements HandEvaluator {
+		INSTANCE;
+		
+		@Override
+		public void evaluate(int[] hardTotal, int[] aces, boolean[] alreadyHit, 
+							 int[] score, boolean[] soft, int[] state, int from, int to) {
+			for (int h = from; h < to; h++) {
+				soft[h] = aces[h] > 0 && hardTotal[h] + 10 <= 21;
+				score[h] = soft[h] ? hardTotal[h] + 10 : hardTotal[h];
+				
+				if (score[h] > 21) {
+					state[h] = BUSTED;
+				}
+				else if (score[h] == 21 && soft[h] && !alreadyHit[h]) {
+					state[h] = BLACKJACK;
+				}
+				else {
+					state[h] = SAFE;
+				}
+			}
+		}
+	}
+}
@@ -1,9 +1,24 @@
 package core;
 
 public class HumanPlayer extends Player {
+	protected DecisionProvider decisions;
 	
 	public HumanPlayer(Deck deck) {
 		super(deck);
+		decisions = DecisionProvider.console(io, this);
+	}
+	
+	public HumanPlayer(Deck deck, ConsoleIO io) {
+		super(deck, io);
+		decisions = DecisionProvider.console(io, this);
+	}
+	
+	/*************************
+	 * Purpose: Sets where the human's decisions come from. By
+	 * 		default they are asked for through the ConsoleIO.
+	 *************************/
+	public void setDecisions(DecisionProvider decisions) {
+		this.decisions = decisions;
 	}
 	
 	/*************************
@@ -23,12 +38,29 @@ public class HumanPlayer extends Player {
 		return handString;
 	}
 	
+	/*************************
+	 * Purpose: Returns the text naming the current hand in
+	 * 		messages, which is empty until the human splits.
+	 *************************/
+	public String getHandText() {
+		String handText = "";
+		
+		if (split) {
+			handText = currentHand == hand ? " for your first hand" : " on your second hand";
+		}
+		
+		return handText;
+	}
+	
 	/*************************
 	 * Purpose: Takes the human's turn. Loops while the current hand 
 	 * 		still exists, the player hasn't busted (both hands), and 
 	 * 		there hasn't been any error with the file input.
-	 * 	Requests input from ConsoleIO.input, and performs operations
-	 * 		on the hand depending on user input.
+	 * 	Asks the player's DecisionProvider what to do, and performs
+	 * 		operations on the hand depending on the decision. The
+	 * 		turn ends if no decision is made, and a split that isn't
+	 * 		allowed is treated as a stay, like BotPlayer.takeTurn().
+	 * 		Asking again is up to the provider, as the console does.
 	 *  If the user had split before they bust or stay, the current
 	 *  	hand is set to the split hand and the loop continues. 
 	 *  	Otherwise, the current hand is set to null and the loop
@@ -36,62 +68,55 @@ public class HumanPlayer extends Player {
 	 *************************/
 	@Override
 	public void takeTurn(Deck deck) {
-		String response = "";
-		String extraHandText = "";
+		boolean quiet = io.isQuiet();
+		long start = Metrics.start();
+		long waited = io.inputNanos;
 		
-		while (currentHand != null && getBestHandState() != Hand.HandState.busted && !ConsoleIO.inputError) {
-			response = ConsoleIO.input("\r\nWould you like to (h)hit, (s)stay, or (d) split", extraHandText, "? ");
+		while (currentHand != null && getBestHandState() != Hand.HandState.busted && !io.inputError) {
+			Player.Action action = decisions.decide(currentHand, dealerUpcard, canSplit());
+			
+			if (action == Player.Action.split && !canSplit()) {
+				action = Player.Action.stay;
+			}
 			
-			switch(response) {
-				case "H" :
-					ConsoleIO.outputln("You hit", extraHandText, ": ", currentHand.hit(deck).toString());
-					ConsoleIO.outputln("Current score", extraHandText, ": ", Integer.toString(currentHand.getScore()));
-					
-					if(currentHand.getState() == Hand.HandState.busted) {
-						ConsoleIO.outputln("You bust", extraHandText + "!");
-						ConsoleIO.output(System.lineSeparator());
-						
-						if (currentHand == hand && split) {
-							currentHand = splitHand;
-							extraHandText = " on your second hand";
-						}
-						else {
-							currentHand = null;
-						}
-					}
-					break;
+			if (action == null) {
+				currentHand = null;
+			}
+			else if (action == Player.Action.hit) {
+				Card card = currentHand.hit(deck);
+				
+				if (!quiet) {
+					io.outputln("You hit", getHandText(), ": ", card.toString());
+					io.outputln("Current score", getHandText(), ": ", Integer.toString(currentHand.getScore()));
+				}
 				
-				case "S" :
-					ConsoleIO.outputln("You stay", extraHandText, ".");
-					ConsoleIO.output(System.lineSeparator());
-					if (currentHand == hand && split) {
-						currentHand = splitHand;
-						extraHandText = " on your second hand";
-					}
-					else {
-						currentHand = null;
-					}
-					break;
-					
-				case "D" :
-					if (hand.canSplit() && !split) {
-						ConsoleIO.outputln("You split!");
-						split(deck);
-						extraHandText = " for your first hand";
-						ConsoleIO.outputln(getHand());
-						ConsoleIO.output(System.lineSeparator());
-					}
-					else {
-						ConsoleIO.outputln("You may only split when your initial two cards are of the same rank.");
-					}
-					break;
-					
-				default :
-					ConsoleIO.outputln("That's not a valid option.\r\n");
-					break;
+				if(currentHand.getState() == Hand.HandState.busted) {
+					io.outputln("You bust", getHandText() + "!");
+					io.output(System.lineSeparator());
+					nextHand();
+				}
 			}
+			else if (action == Player.Action.stay) {
+				io.outputln("You stay", getHandText(), ".");
+				io.output(System.lineSeparator());
+				nextHand();
+			}
+			else {
+				io.outputln("You split!");
+				split(deck);
+				
+				if (!quiet) {
+					io.outputln(getHand());
+					io.output(System.lineSeparator());
+				}
+			}
+		}
+		
+		if (!quiet) {
+			io.outputln(this.getHand());
 		}
 		
-		ConsoleIO.outputln(this.getHand());
+		// the time spent waiting for input is recorded on its own
+		Metrics.recordNanos(Metrics.Phase.humanTurn, System.nanoTime() - start - (io.inputNanos - waited));
 	}
 }
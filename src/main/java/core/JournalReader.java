@@ -0,0 +1,174 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**************
+ * Purpose:  Reads the events in a RoundJournal straight out of
+ * 		a memory-mapped file. Events are plain ints, so replaying
+ * 		a journal doesn't create any objects.
+ **************/
+public class JournalReader {
+	private static final RoundJournal.Event[] EVENTS = RoundJournal.Event.values();
+	private static final Game.Outcome[] OUTCOMES = Game.Outcome.values();
+	
+	private final ByteBuffer buffer;
+	
+	public JournalReader(String filePath) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		
+		if (buffer.remaining() < RoundJournal.HEADER_SIZE || buffer.getInt() != RoundJournal.MAGIC) {
+			throw new IOException("Not a round journal.");
+		}
+		if (buffer.getInt() != RoundJournal.VERSION) {
+			throw new IOException("Unsupported round journal version.");
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Print how many rounds are in a journal and how
+	 * 		they ended, and how fast it was read. If a round number
+	 * 		is given after the file, print that round's events.
+	 **************/
+	public static void main(String[] args) throws IOException {
+		ConsoleIO io = new ConsoleIO();
+		
+		if (args.length == 0) {
+			io.outputln("Usage: JournalReader <journal> [round]");
+		}
+		else {
+			JournalReader reader = new JournalReader(args[0]);
+			long[] outcomes = new long[OUTCOMES.length];
+			long events = 0;
+			long rounds = 0;
+			long start = System.nanoTime();
+			
+			while (reader.hasNext()) {
+				int event = reader.next();
+				events++;
+				
+				if (type(event) == RoundJournal.Event.round) {
+					rounds++;
+				}
+				else if (type(event) == RoundJournal.Event.result) {
+					outcomes[data(event)]++;
+				}
+			}
+			
+			double seconds = (System.nanoTime() - start) / 1e9;
+			
+			io.outputln("Rounds: ", Long.toString(rounds));
+			for (Game.Outcome outcome : OUTCOMES) {
+				io.outputln(outcome.toString(), ": ", Long.toString(outcomes[outcome.ordinal()]));
+			}
+			io.outputln("Events: ", Long.toString(events));
+			io.outputln("Events per second: ", String.format("%.0f", seconds > 0 ? events / seconds : 0));
+			
+			if (args.length > 1) {
+				io.outputln(reader.describeRound(Long.parseLong(args[1])));
+			}
+		}
+		
+		io.close();
+	}
+	
+	
+	public boolean hasNext() {
+		return buffer.remaining() >= 4;
+	}
+	
+	
+	public int next() {
+		return buffer.getInt();
+	}
+	
+	
+	/**************
+	 * Purpose:  Go back to the first event in the journal.
+	 **************/
+	public void rewind() {
+		buffer.position(RoundJournal.HEADER_SIZE);
+	}
+	
+	
+	/**************
+	 * Purpose:  Return every event in a round, counting from 1,
+	 * 		one per line. Reading carries on from the end of the
+	 * 		round afterwards.
+	 **************/
+	public String describeRound(long round) {
+		StringBuilder events = new StringBuilder();
+		long current = 0;
+		
+		rewind();
+		while (hasNext() && current <= round) {
+			int event = next();
+			
+			if (type(event) == RoundJournal.Event.round) {
+				current++;
+			}
+			if (current == round) {
+				events.append(describe(event)).append(System.lineSeparator());
+			}
+		}
+		
+		return events.toString().trim();
+	}
+	
+	
+	public static RoundJournal.Event type(int event) {
+		return EVENTS[event >>> 24];
+	}
+	
+	
+	public static int actor(int event) {
+		return event >>> 20 & 0xF;
+	}
+	
+	
+	public static int hand(int event) {
+		return event >>> 16 & 0xF;
+	}
+	
+	
+	public static int data(int event) {
+		return event & 0xFFFF;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return an event as text, e.g. "dealer hit H7 on
+	 * 		hand 1".
+	 **************/
+	public static String describe(int event) {
+		String actor = actor(event) == RoundJournal.DEALER ? "dealer" : "human";
+		String text;
+		
+		switch (type(event)) {
+			case round :
+				text = "round";
+				break;
+			case result :
+				text = "human " + OUTCOMES[data(event)];
+				break;
+			case split :
+				text = actor + " split";
+				break;
+			case deal :
+			case hit :
+				text = actor + " " + type(event) + " " + Card.of(data(event)) + " on hand " + (hand(event) + 1);
+				break;
+			default :
+				text = actor + " " + type(event) + " on " + data(event) + " with hand " + (hand(event) + 1);
+				break;
+		}
+		
+		return text;
+	}
+}
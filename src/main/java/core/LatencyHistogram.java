@@ -0,0 +1,208 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**************
+ * Purpose:  Counts how long something took, in buckets that
+ * 		split every power of two into eight, so a percentile is
+ * 		never more than 12.5% off. Recording never allocates and
+ * 		is safe from any thread. Like LongAdder, the counts are
+ * 		striped: each thread adds to one of several sets of cells
+ * 		picked by its id, so tables on different threads don't
+ * 		fight over the same cache lines. Reading sums the stripes.
+ **************/
+public class LatencyHistogram implements LatencyHistogramMBean {
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+	private static final int MAX_STRIPES = 64;
+	
+	// each stripe is the counters, then the buckets, with a cache line of padding on both sides
+	private static final int PAD = 8;
+	private static final int COUNT = PAD;
+	private static final int TOTAL = PAD + 1;
+	private static final int MAX = PAD + 2;
+	private static final int FIRST_BUCKET = PAD + 3;
+	private static final int STRIPE_SIZE = FIRST_BUCKET + BUCKETS + PAD;
+	
+	private final String name;
+	private final AtomicLongArray[] stripes;
+	
+	public LatencyHistogram(String name) {
+		int wanted = Math.min(MAX_STRIPES, 2 * Runtime.getRuntime().availableProcessors());
+		
+		this.name = name;
+		stripes = new AtomicLongArray[Integer.highestOneBit(wanted - 1) << 1];
+		
+		for (int i = 0; i < stripes.length; i++) {
+			stripes[i] = new AtomicLongArray(STRIPE_SIZE);
+		}
+	}
+	
+	
+	public void record(long nanos) {
+		AtomicLongArray stripe = stripes[stripe(Thread.currentThread().getId())];
+		long max = stripe.get(MAX);
+		
+		nanos = Math.max(0, nanos);
+		stripe.incrementAndGet(FIRST_BUCKET + bucket(nanos));
+		stripe.incrementAndGet(COUNT);
+		stripe.addAndGet(TOTAL, nanos);
+		
+		while (nanos > max && !stripe.compareAndSet(MAX, max, nanos)) {
+			max = stripe.get(MAX);
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the time below which the given fraction
+	 * 		of the recorded times fall, in nanoseconds. This is the
+	 * 		top of the bucket the time landed in.
+	 **************/
+	public long getPercentileNanos(double fraction) {
+		long total = 0;
+		long target;
+		long nanos = 0;
+		
+		long max = sum(MAX, true);
+		
+		for (int i = 0; i < BUCKETS; i++) {
+			total += sum(FIRST_BUCKET + i, false);
+		}
+		
+		target = (long) Math.ceil(total * fraction);
+		total = 0;
+		
+		for (int i = 0; i < BUCKETS && total < target; i++) {
+			total += sum(FIRST_BUCKET + i, false);
+			nanos = Math.min(lowestIn(i + 1) - 1, max);
+		}
+		
+		return nanos;
+	}
+	
+	
+	public String getName() {
+		return name;
+	}
+	
+	
+	public long getTotalNanos() {
+		return sum(TOTAL, false);
+	}
+	
+	
+	@Override
+	public long getCount() {
+		return sum(COUNT, false);
+	}
+	
+	
+	@Override
+	public double getMeanMicros() {
+		long n = getCount();
+		
+		return n == 0 ? 0 : getTotalNanos() / 1e3 / n;
+	}
+	
+	
+	@Override
+	public double getMaxMicros() {
+		return sum(MAX, true) / 1e3;
+	}
+	
+	
+	@Override
+	public double getP50Micros() {
+		return getPercentileNanos(0.5) / 1e3;
+	}
+	
+	
+	@Override
+	public double getP90Micros() {
+		return getPercentileNanos(0.9) / 1e3;
+	}
+	
+	
+	@Override
+	public double getP99Micros() {
+		return getPercentileNanos(0.99) / 1e3;
+	}
+	
+	
+	@Override
+	public double getTotalMillis() {
+		return getTotalNanos() / 1e6;
+	}
+	
+	
+	@Override
+	public void reset() {
+		for (AtomicLongArray stripe : stripes) {
+			for (int i = 0; i < STRIPE_SIZE; i++) {
+				stripe.set(i, 0);
+			}
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Add up one cell across every stripe, or take the
+	 * 		largest if max is true.
+	 **************/
+	private long sum(int cell, boolean max) {
+		long total = 0;
+		
+		for (AtomicLongArray stripe : stripes) {
+			total = max ? Math.max(total, stripe.get(cell)) : total + stripe.get(cell);
+		}
+		
+		return total;
+	}
+	
+	
+	/**************
+	 * Purpose:  Spread thread ids over the stripes, so threads
+	 * 		made one after another don't land next to each other.
+	 **************/
+	private int stripe(long threadId) {
+		long mixed = threadId * 0x9e3779b97f4a7c15L;
+		
+		return (int) (mixed >>> 32) & (stripes.length - 1);
+	}
+	
+	
+	/**************
+	 * Purpose:  Times below 8ns get a bucket each. Above that, the
+	 * 		bucket is the power of two plus the next three bits.
+	 **************/
+	static int bucket(long nanos) {
+		int bucket = (int) nanos;
+		
+		if (nanos >= SUB_BUCKETS) {
+			int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+			int mantissa = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+			
+			bucket = (exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS | mantissa;
+		}
+		
+		return bucket;
+	}
+	
+	
+	/**************
+	 * Purpose:  The smallest time that falls in a bucket.
+	 **************/
+	static long lowestIn(int bucket) {
+		long nanos = bucket;
+		
+		if (bucket >= SUB_BUCKETS) {
+			int exponent = (bucket >> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+			
+			nanos = exponent >= 63 ? Long.MAX_VALUE : (long) (SUB_BUCKETS | bucket & (SUB_BUCKETS - 1)) << (exponent - SUB_BUCKET_BITS);
+		}
+		
+		return nanos;
+	}
+}
@@ -0,0 +1,24 @@
+package core;
+
+/**************
+ * Purpose:  What JMX shows for each phase of a round. Times are
+ * 		in microseconds.
+ **************/
+public interface LatencyHistogramMBean {
+	
+	long getCount();
+	
+	double getMeanMicros();
+	
+	double getMaxMicros();
+	
+	double getP50Micros();
+	
+	double getP90Micros();
+	
+	double getP99Micros();
+	
+	double getTotalMillis();
+	
+	void reset();
+}
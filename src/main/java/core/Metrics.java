@@ -0,0 +1,161 @@
+package core;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**************
+ * Purpose:  Counts and times each phase of a round across every
+ * 		table in the process. Input is timed apart from the rest
+ * 		of the human's turn, so time spent waiting on the player
+ * 		can be told apart from time spent in the game itself.
+ **************/
+public class Metrics {
+	private static final String DOMAIN = "core:type=Metrics,phase=";
+	
+	enum Phase {
+		setUp,
+		humanTurn,		// not counting time spent waiting for input
+		dealerTurn,
+		getWinner,
+		input,			// waiting for the console
+		readInputFile
+	}
+	
+	private static final Phase[] PHASES = Phase.values();
+	private static final LatencyHistogram[] HISTOGRAMS = new LatencyHistogram[PHASES.length];
+	private static ScheduledExecutorService dumper = null;
+	
+	static {
+		for (Phase phase : PHASES) {
+			HISTOGRAMS[phase.ordinal()] = new LatencyHistogram(phase.name());
+		}
+	}
+	
+	private Metrics() {
+	}
+	
+	
+	public static long start() {
+		return System.nanoTime();
+	}
+	
+	
+	/**************
+	 * Purpose:  Record a phase that began at the given start()
+	 * 		time and has just finished.
+	 **************/
+	public static void record(Phase phase, long start) {
+		HISTOGRAMS[phase.ordinal()].record(System.nanoTime() - start);
+	}
+	
+	
+	public static void recordNanos(Phase phase, long nanos) {
+		HISTOGRAMS[phase.ordinal()].record(nanos);
+	}
+	
+	
+	public static LatencyHistogram get(Phase phase) {
+		return HISTOGRAMS[phase.ordinal()];
+	}
+	
+	
+	public static void reset() {
+		for (LatencyHistogram histogram : HISTOGRAMS) {
+			histogram.reset();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Register an MBean for every phase, e.g.
+	 * 		core:type=Metrics,phase=dealerTurn. Does nothing if they
+	 * 		are already registered.
+	 **************/
+	public static synchronized void registerMBeans() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		
+		try {
+			for (LatencyHistogram histogram : HISTOGRAMS) {
+				ObjectName name = new ObjectName(DOMAIN + histogram.getName());
+				
+				if (!server.isRegistered(name)) {
+					server.registerMBean(histogram, name);
+				}
+			}
+		} catch (JMException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Register the MBeans, and if the metrics.period
+	 * 		system property is set, print the report every that
+	 * 		many seconds.
+	 **************/
+	public static void enable(ConsoleIO io) {
+		Integer period = Integer.getInteger("metrics.period");
+		
+		registerMBeans();
+		
+		if (period != null && period > 0) {
+			startDump(period, TimeUnit.SECONDS, io);
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Print the report to the given IO channel on a
+	 * 		background thread, until the returned task is cancelled.
+	 **************/
+	public static synchronized ScheduledFuture<?> startDump(long period, TimeUnit unit, final ConsoleIO io) {
+		if (dumper == null) {
+			dumper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "metrics");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		
+		return dumper.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				io.outputln(getReport());
+			}
+		}, period, period, unit);
+	}
+	
+	
+	/**************
+	 * Purpose:  Return a table of every phase's count and times
+	 * 		in microseconds.
+	 **************/
+	public static String getReport() {
+		StringBuilder report = new StringBuilder();
+		String nl = System.lineSeparator();
+		
+		report.append(String.format("%-14s %10s %12s %10s %10s %10s %10s", 
+				"Phase", "Count", "Total ms", "Mean us", "p50 us", "p99 us", "Max us"))
+			  .append(nl);
+		
+		for (LatencyHistogram histogram : HISTOGRAMS) {
+			report.append(String.format("%-14s %10d %12.3f %10.2f %10.2f %10.2f %10.2f", histogram.getName(),
+					histogram.getCount(), histogram.getTotalMillis(), histogram.getMeanMicros(), 
+					histogram.getP50Micros(), histogram.getP99Micros(), histogram.getMaxMicros()))
+				  .append(nl);
+		}
+		
+		return report.toString().trim();
+	}
+}
@@ -0,0 +1,95 @@
+package core;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**************
+ * Purpose:  Where a ConsoleIO sends its output. Sinks can be
+ * 		buffered, written from another thread, sent to a file, or
+ * 		quiet. When a sink is quiet, tables skip building the text
+ * 		for their hands altogether.
+ **************/
+public interface OutputSink {
+	
+	void write(String text);
+	
+	
+	/**************
+	 * Purpose:  Make sure everything written so far has been
+	 * 		passed on, e.g. before waiting for user input.
+	 **************/
+	void flush();
+	
+	
+	void close();
+	
+	
+	default boolean isQuiet() {
+		return false;
+	}
+	
+	
+	/**************
+	 * Purpose:  Buffer output for System.out, passing it on once
+	 * 		per line instead of once per piece of text.
+	 **************/
+	static OutputSink console() {
+		return new BufferedSink(System.out, false, true);
+	}
+	
+	
+	/**************
+	 * Purpose:  Same as console(), but for any stream. The stream
+	 * 		is not closed with the sink.
+	 **************/
+	static OutputSink stream(OutputStream out) {
+		return new BufferedSink(out, false, true);
+	}
+	
+	
+	/**************
+	 * Purpose:  Write to a file, replacing it. The output is only
+	 * 		written when the buffer fills, or the sink is flushed or
+	 * 		closed.
+	 **************/
+	static OutputSink file(String filePath) throws IOException {
+		return new BufferedSink(new FileOutputStream(filePath), true, false);
+	}
+	
+	
+	/**************
+	 * Purpose:  Pass the output on to the given sink from a
+	 * 		background thread, so writing never waits on it.
+	 **************/
+	static OutputSink async(OutputSink sink) {
+		return new AsyncSink(sink);
+	}
+	
+	
+	static OutputSink quiet() {
+		return QuietSink.INSTANCE;
+	}
+	
+	
+	enum QuietSink implements OutputSink {
+		INSTANCE;
+		
+		@Override
+		public void write(String text) {
+		}
+		
+		@Override
+		public void flush() {
+		}
+		
+		@Override
+		public void close() {
+		}
+		
+		@Override
+		public boolean isQuiet() {
+			return true;
+		}
+	}
+}
@@ -2,14 +2,30 @@ package core;
 
 
 public class Player {
+	public enum Action {
+		hit,
+		stay,
+		split
+	}
+	
 	public Hand hand;
 	public Hand splitHand = null;
 	public boolean initialBlackjack = false;
 	
 	protected boolean split;
 	protected Hand currentHand;
+	protected ConsoleIO io;
+	protected Rules rules = Rules.DEFAULT;
+	protected Card dealerUpcard = null;
+	
+	private Hand spareHand = null;
 	
 	public Player(Deck deck) {
+		this(deck, new ConsoleIO());
+	}
+	
+	public Player(Deck deck, ConsoleIO io) {
+		this.io = io;
 		hand = new Hand();
 		
 		hand.add(deck.draw());
@@ -18,6 +34,24 @@ public class Player {
 		currentHand = hand;
 	}
 	
+	/*************************
+	 * Purpose: Takes back both hands and deals two new cards, the
+	 * 		same as a new player would get. The hands are reused,
+	 * 		so a table can keep its players from round to round
+	 * 		without allocating.
+	 *************************/
+	public void reset(Deck deck) {
+		hand.reset();
+		splitHand = null;
+		split = false;
+		initialBlackjack = false;
+		
+		hand.add(deck.draw());
+		hand.add(deck.draw());
+		
+		currentHand = hand;
+	}
+	
 	/*************************
 	 * Purpose: Compares the scores of the player's hands, and 
 	 * 		returns the best hand score.
@@ -75,16 +109,60 @@ public class Player {
 		// implemented in 'HumanPlayer' and 'DealerPlayer'
 	}
 	
+	
+	public void setRules(Rules rules) {
+		this.rules = rules;
+	}
+	
+	/*************************
+	 * Purpose: Tells the player which of the dealer's cards is
+	 * 		showing, for players whose decisions depend on it. Must
+	 * 		be called before takeTurn().
+	 *************************/
+	public void setDealerUpcard(Card dealerUpcard) {
+		this.dealerUpcard = dealerUpcard;
+	}
+	
+	/*************************
+	 * Purpose: Moves on to the split hand once the first hand is
+	 * 		finished, or to no hand at all.
+	 *************************/
+	protected void nextHand() {
+		if (currentHand == hand && split) {
+			currentHand = splitHand;
+		}
+		else {
+			currentHand = null;
+		}
+	}
+	
+	/*************************
+	 * Purpose: Checks if the current hand may be split under the
+	 * 		table's rules. Only the first hand can be split, and
+	 * 		only if the player hasn't split already.
+	 *************************/
+	protected boolean canSplit() {
+		return !split && currentHand == hand && rules.canSplit(hand);
+	}
+	
 	/*************************
 	 * Purpose: Splits the player's hands into two hands. The second
 	 * 		card of the first hand is moved into the second hand, and
-	 * 		both hands hit with the deck.
+	 * 		both hands hit with the deck. The second hand is
+	 * 		kept for the next split once the player is reset.
 	 *************************/
 	protected void split(Deck deck) {
 		split = true;
 		
-		splitHand = new Hand();
-		splitHand.add(hand.cards.remove(1));
+		if (spareHand == null) {
+			spareHand = new Hand();
+		}
+		else {
+			spareHand.reset();
+		}
+		
+		splitHand = spareHand;
+		splitHand.add(hand.remove(1));
 		
 		hand.hit(deck);
 		splitHand.hit(deck);
@@ -0,0 +1,71 @@
+package core;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**************
+ * Purpose:  Where a deck gets its random numbers from when it
+ * 		shuffles. A seeded source always shuffles the same way,
+ * 		and split() hands out an independent stream, so one 
+ * 		master seed can give every thread or table its own.
+ **************/
+public interface RandomSource {
+	
+	/**************
+	 * Purpose:  Return a random number from 0 up to, but not
+	 * 		including, bound.
+	 **************/
+	int nextInt(int bound);
+	
+	
+	/**************
+	 * Purpose:  Return a new source with its own stream of
+	 * 		numbers. This source moves on, so splitting it again
+	 * 		gives a different stream.
+	 **************/
+	RandomSource split();
+	
+	
+	/**************
+	 * Purpose:  The unseeded default. Every thread uses its own
+	 * 		ThreadLocalRandom, so there is nothing to contend on.
+	 **************/
+	static RandomSource threadLocal() {
+		return ThreadLocalSource.INSTANCE;
+	}
+	
+	
+	static RandomSource seeded(long seed) {
+		return new Xoroshiro128(seed);
+	}
+	
+	
+	static RandomSource of(final SplittableRandom random) {
+		return new RandomSource() {
+			@Override
+			public int nextInt(int bound) {
+				return random.nextInt(bound);
+			}
+			
+			@Override
+			public RandomSource split() {
+				return of(random.split());
+			}
+		};
+	}
+	
+	
+	enum ThreadLocalSource implements RandomSource {
+		INSTANCE;
+		
+		@Override
+		public int nextInt(int bound) {
+			return ThreadLocalRandom.current().nextInt(bound);
+		}
+		
+		@Override
+		public RandomSource split() {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,260 @@
+package core;
+
+/**************
+ * Purpose:  One table's rounds as a state machine that never
+ * 		waits. deal() starts a round, act() takes each of the
+ * 		human's actions, and the dealer plays as soon as the human
+ * 		is done. Everything that happens is sent to a listener as
+ * 		packed RoundJournal events, which JournalReader can unpack
+ * 		or a RoundJournal can write. The dealer's hole card is only
+ * 		sent once it is turned over.
+ **************/
+public class Round {
+	public enum State {
+		ready,
+		humanTurn,
+		finished
+	}
+	
+	/**************
+	 * Purpose:  Told about every event as it happens, on the
+	 * 		thread that called deal() or act(). onTurn() is called
+	 * 		whenever the round is waiting for the human to act.
+	 **************/
+	public interface Listener {
+		void onEvent(Round round, int event);
+		
+		void onTurn(Round round);
+	}
+	
+	private static final ConsoleIO QUIET = new ConsoleIO(OutputSink.quiet());
+	
+	private final int id;
+	private final Deck deck;
+	private final Rules rules;
+	private final Listener listener;
+	private Player human = null;
+	private DealerPlayer dealer = null;
+	private State state = State.ready;
+	private Game.Outcome outcome = null;
+	private boolean holeShown = false;
+	
+	public Round(Deck deck, Rules rules, Listener listener) {
+		this(0, deck, rules, listener);
+	}
+	
+	
+	/**************
+	 * Purpose:  Create a round with a number that tells the
+	 * 		listener which table it is, see RoundLoop.
+	 **************/
+	public Round(int id, Deck deck, Rules rules, Listener listener) {
+		this.id = id;
+		this.deck = deck;
+		this.rules = rules;
+		this.listener = listener;
+		deck.reshuffle();
+	}
+	
+	
+	/**************
+	 * Purpose:  Start a new round, reshuffling first if the deck
+	 * 		needs it. If either player has an initial blackjack, the
+	 * 		round is over straight away. Returns false, and does
+	 * 		nothing, while a round is still being played.
+	 **************/
+	public boolean deal() {
+		boolean dealt = state != State.humanTurn;
+		
+		if (dealt) {
+			deck.startRound();
+			
+			if (human == null) {
+				human = new Player(deck, QUIET);
+				dealer = new DealerPlayer(deck, QUIET);
+				human.setRules(rules);
+				dealer.setRules(rules);
+			}
+			else {
+				human.reset(deck);
+				dealer.reset(deck);
+			}
+			
+			outcome = null;
+			holeShown = false;
+			send(RoundJournal.Event.round, RoundJournal.HUMAN, 0, 0);
+			send(RoundJournal.Event.deal, RoundJournal.HUMAN, 0, human.hand.cards.get(0).code);
+			send(RoundJournal.Event.deal, RoundJournal.HUMAN, 0, human.hand.cards.get(1).code);
+			send(RoundJournal.Event.deal, RoundJournal.DEALER, 0, dealer.hand.cards.get(0).code);
+			
+			human.initialBlackjack = human.getBestHandState() == Hand.HandState.blackjack;
+			dealer.initialBlackjack = dealer.getBestHandState() == Hand.HandState.blackjack;
+			
+			if (human.initialBlackjack || dealer.initialBlackjack) {
+				finish();
+			}
+			else {
+				state = State.humanTurn;
+				listener.onTurn(this);
+			}
+		}
+		
+		return dealt;
+	}
+	
+	
+	/**************
+	 * Purpose:  Take one of the human's actions. Once the human has
+	 * 		stayed or bust on every hand, the dealer plays and the
+	 * 		round finishes before this returns. Returns false, and
+	 * 		does nothing, if the action isn't allowed right now.
+	 **************/
+	public boolean act(Player.Action action) {
+		boolean legal = isAllowed(action);
+		
+		if (legal) {
+			int index = human.currentHand == human.hand ? 0 : 1;
+			
+			switch (action) {
+				case hit :
+					Card card = human.currentHand.hit(deck);
+					send(RoundJournal.Event.hit, RoundJournal.HUMAN, index, card.code);
+					
+					if (human.currentHand.getState() == Hand.HandState.busted) {
+						send(RoundJournal.Event.bust, RoundJournal.HUMAN, index, human.currentHand.getScore());
+						human.nextHand();
+					}
+					break;
+					
+				case split :
+					human.split(deck);
+					sendSplit(RoundJournal.HUMAN, human);
+					break;
+					
+				default :
+					send(RoundJournal.Event.stay, RoundJournal.HUMAN, index, human.currentHand.getScore());
+					human.nextHand();
+					break;
+			}
+			
+			if (human.currentHand == null || human.getBestHandState() == Hand.HandState.busted) {
+				playDealer();
+				finish();
+			}
+			else {
+				listener.onTurn(this);
+			}
+		}
+		
+		return legal;
+	}
+	
+	
+	/**************
+	 * Purpose:  True if the human may take the action now. They
+	 * 		may always hit or stay on their turn, but can only
+	 * 		split as the rules allow.
+	 **************/
+	public boolean isAllowed(Player.Action action) {
+		return state == State.humanTurn && (action != Player.Action.split || human.canSplit());
+	}
+	
+	
+	public int getId() {
+		return id;
+	}
+	
+	
+	public State getState() {
+		return state;
+	}
+	
+	
+	/**************
+	 * Purpose:  The outcome of the last round, or null until it
+	 * 		has finished.
+	 **************/
+	public Game.Outcome getOutcome() {
+		return outcome;
+	}
+	
+	
+	public Player getHuman() {
+		return human;
+	}
+	
+	
+	public DealerPlayer getDealer() {
+		return dealer;
+	}
+	
+	
+	/**************
+	 * Purpose:  Play the dealer the same way as DealerPlayer.play(),
+	 * 		sending each card as it is drawn. The dealer doesn't play
+	 * 		if the human has bust.
+	 **************/
+	private void playDealer() {
+		showHole();
+		
+		if (human.getBestHandState() != Hand.HandState.busted) {
+			if (rules.dealerSplits(dealer.hand)) {
+				dealer.split(deck);
+				sendSplit(RoundJournal.DEALER, dealer);
+			}
+			
+			while (dealer.checkHit(human)) {
+				int index = dealer.currentHand == dealer.hand ? 0 : 1;
+				Card card = dealer.currentHand.hit(deck);
+				
+				send(RoundJournal.Event.hit, RoundJournal.DEALER, index, card.code);
+				
+				if (!dealer.checkHit(human)) {
+					sendEnd(RoundJournal.DEALER, index, dealer.currentHand);
+					
+					if (dealer.split && dealer.currentHand == dealer.hand) {
+						dealer.currentHand = dealer.splitHand;
+					}
+				}
+			}
+		}
+	}
+	
+	
+	private void finish() {
+		showHole();
+		outcome = Game.getOutcome(human, dealer);
+		state = State.finished;
+		send(RoundJournal.Event.result, RoundJournal.HUMAN, 0, outcome.ordinal());
+	}
+	
+	
+	private void showHole() {
+		if (!holeShown) {
+			holeShown = true;
+			send(RoundJournal.Event.deal, RoundJournal.DEALER, 0, dealer.hand.cards.get(1).code);
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  The split, then the card each hand was dealt.
+	 **************/
+	private void sendSplit(int actor, Player player) {
+		send(RoundJournal.Event.split, actor, 0, 0);
+		send(RoundJournal.Event.deal, actor, 0, player.hand.cards.get(1).code);
+		send(RoundJournal.Event.deal, actor, 1, player.splitHand.cards.get(1).code);
+	}
+	
+	
+	private void sendEnd(int actor, int index, Hand hand) {
+		RoundJournal.Event event = hand.getState() == Hand.HandState.busted ? RoundJournal.Event.bust : RoundJournal.Event.stay;
+		
+		send(event, actor, index, hand.getScore());
+	}
+	
+	
+	private void send(RoundJournal.Event event, int actor, int hand, int data) {
+		listener.onEvent(this, RoundJournal.pack(event, actor, hand, data));
+	}
+}
@@ -0,0 +1,204 @@
+package core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**************
+ * Purpose:  An append-only binary record of every round played
+ * 		at a table. Each event is one int: the event type, who it
+ * 		happened to, which of their hands, and a card code, score
+ * 		or outcome, which is the ordinal of a Game.Outcome. Events
+ * 		are buffered and written in large blocks, so recording a
+ * 		round costs a few array writes.
+ * 		Read journals back with JournalReader.
+ **************/
+public class RoundJournal implements Closeable {
+	public static final int MAGIC = 0x424A524E;		// "BJRN"
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 8;
+	public static final int HUMAN = 0;
+	public static final int DEALER = 1;
+	
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	enum Event {
+		round,
+		deal,
+		split,
+		hit,
+		stay,
+		bust,
+		result
+	}
+	
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private long rounds = 0;
+	
+	/**************
+	 * Purpose:  Open a journal for appending, creating it if it
+	 * 		doesn't exist. Throws an IOException if the file exists
+	 * 		but isn't a journal.
+	 **************/
+	public RoundJournal(String filePath) throws IOException {
+		Path path = Paths.get(filePath);
+		
+		if (Files.isRegularFile(path) && Files.size(path) > 0) {
+			checkHeader(path);
+		}
+		
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		
+		if (channel.size() == 0) {
+			buffer.putInt(MAGIC).putInt(VERSION);
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Record a finished round. The events are worked out
+	 * 		from the final hands, in the order the cards were drawn:
+	 * 		the deal, then the human's turn, then the dealer's.
+	 **************/
+	public void record(Player human, DealerPlayer dealer, Game.Outcome outcome) {
+		boolean played = !human.initialBlackjack && !dealer.initialBlackjack;
+		
+		write(Event.round, HUMAN, 0, 0);
+		recordDeal(HUMAN, human);
+		recordDeal(DEALER, dealer);
+		recordTurn(HUMAN, human, played);
+		recordTurn(DEALER, dealer, played && human.getBestHandState() != Hand.HandState.busted);
+		write(Event.result, HUMAN, 0, outcome.ordinal());
+		rounds++;
+	}
+	
+	
+	/**************
+	 * Purpose:  Add one event to the journal.
+	 **************/
+	public void write(Event event, int actor, int hand, int data) {
+		write(pack(event, actor, hand, data));
+	}
+	
+	
+	/**************
+	 * Purpose:  Add one event that has already been packed, such
+	 * 		as one sent by a Round.
+	 **************/
+	public void write(int event) {
+		if (!buffer.hasRemaining()) {
+			flush();
+		}
+		
+		buffer.putInt(event);
+	}
+	
+	
+	/**************
+	 * Purpose:  Pack an event into the int it is stored as. See
+	 * 		JournalReader for unpacking it.
+	 **************/
+	public static int pack(Event event, int actor, int hand, int data) {
+		return event.ordinal() << 24 | actor << 20 | hand << 16 | data;
+	}
+	
+	
+	/**************
+	 * Purpose:  Write everything recorded so far to the file.
+	 **************/
+	public void flush() {
+		buffer.flip();
+		
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			buffer.clear();
+		}
+	}
+	
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+	
+	
+	public long getRounds() {
+		return rounds;
+	}
+	
+	
+	/**************
+	 * Purpose:  The first two cards a player was dealt. If they
+	 * 		split, the second card is now in their second hand.
+	 **************/
+	private void recordDeal(int actor, Player player) {
+		Card second = player.split ? player.splitHand.cards.get(0) : player.hand.cards.get(1);
+		
+		write(Event.deal, actor, 0, player.hand.cards.get(0).code);
+		write(Event.deal, actor, player.split ? 1 : 0, second.code);
+	}
+	
+	
+	/**************
+	 * Purpose:  The split, the card each split hand was dealt,
+	 * 		every hit, and whether each hand stayed or bust. A 
+	 * 		player that never took a turn only has hits.
+	 **************/
+	private void recordTurn(int actor, Player player, boolean played) {
+		if (player.split) {
+			write(Event.split, actor, 0, 0);
+			write(Event.deal, actor, 0, player.hand.cards.get(1).code);
+			write(Event.deal, actor, 1, player.splitHand.cards.get(1).code);
+			recordHand(actor, 0, player.hand, played);
+			recordHand(actor, 1, player.splitHand, played);
+		}
+		else {
+			recordHand(actor, 0, player.hand, played);
+		}
+	}
+	
+	
+	private void recordHand(int actor, int index, Hand hand, boolean played) {
+		for (int i = 2; i < hand.cards.size(); i++) {
+			write(Event.hit, actor, index, hand.cards.get(i).code);
+		}
+		
+		if (played) {
+			write(hand.getState() == Hand.HandState.busted ? Event.bust : Event.stay, actor, index, hand.getScore());
+		}
+	}
+	
+	
+	private static void checkHeader(Path path) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		
+		try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+			while (header.hasRemaining() && reader.read(header) >= 0) {
+			}
+		}
+		header.flip();
+		
+		if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+			throw new IOException("Not a round journal.");
+		}
+		if (header.getInt() != VERSION) {
+			throw new IOException("Unsupported round journal version.");
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package core;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**************
+ * Purpose:  Plays any number of tables on a single thread. Any
+ * 		thread can ask for a deal or send a player's action, and
+ * 		they are queued for the loop's thread to apply to the
+ * 		table's Round. Nothing waits on a player, so a table that
+ * 		is waiting for an action costs nothing but its memory.
+ * 		Events are sent to the listener on the loop's thread, and
+ * 		the listener may queue more work for the loop. If the
+ * 		listener or the table's Round throws, the failure is kept
+ * 		for that table and the loop carries on with the rest.
+ **************/
+public class RoundLoop implements Runnable, Closeable {
+	private static final long STOP = -1;
+	private static final int DEAL = 0;
+	private static final Player.Action[] ACTIONS = Player.Action.values();
+	
+	private final List<Round> tables = new ArrayList<Round>();
+	private final List<RuntimeException> failures = new ArrayList<RuntimeException>();
+	private final LinkedBlockingDeque<Long> queue = new LinkedBlockingDeque<Long>();
+	private final Rules rules;
+	private final Round.Listener listener;
+	
+	// passes events on to the listener, keeping anything it throws
+	private final Round.Listener guard = new Round.Listener() {
+		@Override
+		public void onEvent(Round round, int event) {
+			try {
+				listener.onEvent(round, event);
+			} catch (RuntimeException e) {
+				fail(round.getId(), e);
+			}
+		}
+		
+		@Override
+		public void onTurn(Round round) {
+			try {
+				listener.onTurn(round);
+			} catch (RuntimeException e) {
+				fail(round.getId(), e);
+			}
+		}
+	};
+	
+	public RoundLoop(Rules rules, Round.Listener listener) {
+		this.rules = rules;
+		this.listener = listener;
+	}
+	
+	
+	/**************
+	 * Purpose:  Open a new table that deals from the given deck,
+	 * 		and return its number.
+	 **************/
+	public synchronized int open(Deck deck) {
+		tables.add(new Round(tables.size(), deck, rules, guard));
+		failures.add(null);
+		return tables.size() - 1;
+	}
+	
+	
+	public synchronized Round getTable(int table) {
+		return tables.get(table);
+	}
+	
+	
+	public synchronized int getTableCount() {
+		return tables.size();
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the first exception the listener, or the
+	 * 		table's Round, threw for the given table, or null if
+	 * 		there hasn't been one.
+	 **************/
+	public synchronized RuntimeException getFailure(int table) {
+		return failures.get(table);
+	}
+	
+	
+	/**************
+	 * Purpose:  Queue a new round at the given table.
+	 **************/
+	public void deal(int table) {
+		queue.add((long) table << 8 | DEAL);
+	}
+	
+	
+	/**************
+	 * Purpose:  Queue one of the human's actions at the given table.
+	 * 		An action that isn't allowed when it is reached is
+	 * 		ignored, see Round.act().
+	 **************/
+	public void submit(int table, Player.Action action) {
+		queue.add((long) table << 8 | action.ordinal() + 1);
+	}
+	
+	
+	/**************
+	 * Purpose:  Apply queued work until the loop is closed. This is
+	 * 		the only place the loop's thread waits, and only when
+	 * 		there is nothing left to do at any table.
+	 **************/
+	@Override
+	public void run() {
+		try {
+			long command = queue.take();
+			
+			while (command != STOP) {
+				apply(command);
+				command = queue.take();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Apply queued work on the calling thread until the
+	 * 		queue is empty, including anything the listener queues
+	 * 		along the way. Returns the number of commands applied.
+	 * 		If the loop has been closed, the stop is left at the
+	 * 		front of the queue for run().
+	 **************/
+	public int runPending() {
+		int applied = 0;
+		Long command = queue.poll();
+		
+		while (command != null && command != STOP) {
+			apply(command);
+			applied++;
+			command = queue.poll();
+		}
+		
+		if (command != null) {
+			queue.addFirst(STOP);
+		}
+		
+		return applied;
+	}
+	
+	
+	/**************
+	 * Purpose:  Stop run() once the work already queued is done.
+	 **************/
+	@Override
+	public void close() {
+		queue.add(STOP);
+	}
+	
+	
+	private void apply(long command) {
+		int table = (int) (command >>> 8);
+		Round round = getTable(table);
+		int code = (int) (command & 0xFF);
+		
+		try {
+			if (code == DEAL) {
+				round.deal();
+			}
+			else {
+				round.act(ACTIONS[code - 1]);
+			}
+		} catch (RuntimeException e) {
+			fail(table, e);
+		}
+	}
+	
+	
+	private synchronized void fail(int table, RuntimeException e) {
+		if (failures.get(table) == null) {
+			failures.set(table, e);
+		}
+	}
+}
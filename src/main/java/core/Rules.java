@@ -0,0 +1,169 @@
+package core;
+
+import java.util.Arrays;
+
+/**************
+ * Purpose:  The house rules a table is played by. The rules are
+ * 		compiled into flat tables indexed by the total of a hand
+ * 		and whether it is soft, so the dealer's decisions are a
+ * 		single lookup. In DEFAULT the dealer hits soft 17 and
+ * 		splits pairs worth 17 or less, and the human may split
+ * 		once, as the game has always been played. Two blackjacks
+ * 		push, which is a change: the game used to give every tie
+ * 		to the dealer. Use blackjackTie=dealer for the old rule.
+ **************/
+public final class Rules {
+	public enum BlackjackTie {
+		push,
+		dealer
+	}
+	
+	public static final Rules DEFAULT = new Rules(true, true, 17, 1, BlackjackTie.push);
+	
+	// totals of 31 or more are all busted, so they share the last entry
+	private static final int TOTALS = 32;
+	
+	public final boolean hitSoft17;
+	public final boolean dealerSplits;
+	public final int dealerSplitMax;
+	public final int maxSplits;
+	public final BlackjackTie blackjackTie;
+	
+	private final boolean[] dealerHits = new boolean[2 * TOTALS];
+	private final boolean[] dealerSplitAt = new boolean[2 * TOTALS];
+	
+	/**************
+	 * Purpose:  Compile the given rules. The human may split at
+	 * 		most maxSplits times, which is 0 or 1, since a player
+	 * 		only has room for one split hand.
+	 **************/
+	public Rules(boolean hitSoft17, boolean dealerSplits, int dealerSplitMax, int maxSplits, BlackjackTie blackjackTie) {
+		if (maxSplits < 0 || maxSplits > 1) {
+			throw new IllegalArgumentException("Only 0 or 1 splits are supported, not " + maxSplits);
+		}
+		
+		this.hitSoft17 = hitSoft17;
+		this.dealerSplits = dealerSplits;
+		this.dealerSplitMax = dealerSplitMax;
+		this.maxSplits = maxSplits;
+		this.blackjackTie = blackjackTie;
+		
+		for (int total = 0; total < TOTALS; total++) {
+			dealerHits[index(total, false)] = total <= 16;
+			dealerHits[index(total, true)] = total <= 16 || (total == 17 && hitSoft17);
+			dealerSplitAt[index(total, false)] = dealerSplits && total <= dealerSplitMax;
+			dealerSplitAt[index(total, true)] = dealerSplits && total <= dealerSplitMax;
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Read rules from text such as "dealer=s17,
+	 * 		dealerSplit=off, splits=0, blackjackTie=dealer". Rules
+	 * 		that aren't given keep their DEFAULT value.
+	 **************/
+	public static Rules parse(String config) {
+		boolean hitSoft17 = DEFAULT.hitSoft17;
+		boolean dealerSplits = DEFAULT.dealerSplits;
+		int dealerSplitMax = DEFAULT.dealerSplitMax;
+		int maxSplits = DEFAULT.maxSplits;
+		BlackjackTie blackjackTie = DEFAULT.blackjackTie;
+		
+		for (String rule : config.trim().split("[,\\s]+")) {
+			String[] pair = rule.split("=", 2);
+			String key = pair[0].trim();
+			String value = pair.length > 1 ? pair[1].trim().toLowerCase() : "";
+			
+			switch (key) {
+				case "" :
+					break;
+				case "dealer" :
+					hitSoft17 = choose(value, "h17", "s17", key);
+					break;
+				case "dealerSplit" :
+					dealerSplits = choose(value, "on", "off", key);
+					break;
+				case "dealerSplitMax" :
+					dealerSplitMax = Integer.parseInt(value);
+					break;
+				case "splits" :
+					maxSplits = Integer.parseInt(value);
+					break;
+				case "blackjackTie" :
+					blackjackTie = BlackjackTie.valueOf(value);
+					break;
+				default :
+					throw new IllegalArgumentException("Unknown rule: " + rule);
+			}
+		}
+		
+		return new Rules(hitSoft17, dealerSplits, dealerSplitMax, maxSplits, blackjackTie);
+	}
+	
+	
+	/**************
+	 * Purpose:  True if the dealer hits on the given total.
+	 **************/
+	public boolean dealerHits(int total, boolean soft) {
+		return dealerHits[index(total, soft)];
+	}
+	
+	
+	/**************
+	 * Purpose:  True if the dealer splits the given starting hand.
+	 **************/
+	public boolean dealerSplits(Hand hand) {
+		return hand.canSplit() && dealerSplits(hand.getScore(), hand.getAceWorth11());
+	}
+	
+	
+	/**************
+	 * Purpose:  True if the dealer splits a pair with the given
+	 * 		total.
+	 **************/
+	public boolean dealerSplits(int total, boolean soft) {
+		return dealerSplitAt[index(total, soft)];
+	}
+	
+	
+	/**************
+	 * Purpose:  True if a player who hasn't split yet may split
+	 * 		the given hand.
+	 **************/
+	public boolean canSplit(Hand hand) {
+		return maxSplits > 0 && hand.canSplit();
+	}
+	
+	
+	/**************
+	 * Purpose:  True if the dealer plays the same way under both
+	 * 		rules, hitting and splitting on the same hands.
+	 **************/
+	public boolean sameDealer(Rules other) {
+		return Arrays.equals(dealerHits, other.dealerHits) && Arrays.equals(dealerSplitAt, other.dealerSplitAt);
+	}
+	
+	
+	@Override
+	public String toString() {
+		return "dealer=" + (hitSoft17 ? "h17" : "s17") +
+			   ", dealerSplit=" + (dealerSplits ? "on" : "off") +
+			   ", dealerSplitMax=" + dealerSplitMax +
+			   ", splits=" + maxSplits +
+			   ", blackjackTie=" + blackjackTie;
+	}
+	
+	
+	private static int index(int total, boolean soft) {
+		return (soft ? TOTALS : 0) + Math.min(total, TOTALS - 1);
+	}
+	
+	
+	private static boolean choose(String value, String yes, String no, String key) {
+		if (!value.equals(yes) && !value.equals(no)) {
+			throw new IllegalArgumentException(key + " must be " + yes + " or " + no + ", not " + value);
+		}
+		
+		return value.equals(yes);
+	}
+}
@@ -0,0 +1,85 @@
+package core;
+
+import java.util.List;
+
+/**************
+ * Purpose:  A deck that deals the cards from a game file in the
+ * 		order they are written, reading each one from the file
+ * 		only when it is drawn. Cards added to the deck are dealt
+ * 		after the file's cards run out. Shuffling only affects
+ * 		the added cards.
+ **************/
+public class ScriptDeck extends Deck {
+	protected ScriptReader script;
+	
+	public ScriptDeck(ScriptReader script) {
+		super.clear();
+		this.script = script;
+		
+		for (int rank = 0; rank < composition.length; rank++) {
+			composition[rank] = script.getRankCount(rank);
+		}
+		reset();
+	}
+	
+	
+	@Override
+	public int drawCode() {
+		int code = script.nextCard();
+		
+		if (code >= 0) {
+			seen(code);
+		}
+		else {
+			code = super.drawCode();
+		}
+		
+		return code;
+	}
+	
+	
+	@Override
+	public void reset() {
+		script.rewindCards();
+		super.reset();
+	}
+	
+	
+	@Override
+	public void clear() {
+		script.skipCards();
+		super.clear();
+	}
+	
+	
+	@Override
+	public int size() {
+		return script.cardsLeft() + super.size();
+	}
+	
+	
+	@Override
+	public Card get(int index) {
+		return index < script.cardsLeft() ? Card.of(script.peekCard(index)) 
+										  : super.get(index - script.cardsLeft());
+	}
+	
+	
+	@Override
+	public List<Card> getCards() {
+		List<Card> cards = script.getCards();
+		cards.addAll(super.getCards());
+		
+		return cards;
+	}
+	
+	
+	/**************
+	 * Purpose:  Only checks the file's cards against each other,
+	 * 		and the added cards against each other.
+	 **************/
+	@Override
+	public boolean checkDuplicates() {
+		return !script.hasDuplicates() && super.checkDuplicates();
+	}
+}
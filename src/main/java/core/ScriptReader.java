@@ -0,0 +1,352 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**************
+ * Purpose:  Reads the cards and player commands in a game file
+ * 		straight out of a buffer, which is memory-mapped for large
+ * 		files so they are never copied onto the heap. Cards and
+ * 		commands are each read with their own position in the
+ * 		buffer, one token at a time, as the game asks for them.
+ * 		Tokens are checked with lookup tables instead of string
+ * 		comparisons.
+ **************/
+public class ScriptReader {
+	private static final byte[] SUIT_INDEX = new byte[256];		// suit index + 1, 0 if not a suit
+	private static final byte[] RANK_INDEX = new byte[256];		// rank index + 1 for one character ranks
+	private static final String[] COMMANDS = new String[256];
+	private static final int TEN = 9;							// index of "10" in Card.RANKS
+	private static final int MAP_THRESHOLD = 1 << 16;			// smaller files are cheaper to read than to map
+	
+	private final ByteBuffer buffer;
+	private final int limit;
+	private int cardPosition = 0;
+	private int commandPosition = 0;
+	private int cardCount = 0;
+	private int[] rankCounts = new int[Card.RANKS.length];
+	private int cardsLeft;
+	private boolean valid = true;
+	private boolean duplicates = false;
+	
+	static {
+		for (int i = 0; i < Card.SUITS.length; i++) {
+			setIndex(SUIT_INDEX, Card.SUITS[i].charAt(0), i + 1);
+		}
+		for (int i = 0; i < Card.RANKS.length; i++) {
+			if (Card.RANKS[i].length() == 1) {
+				setIndex(RANK_INDEX, Card.RANKS[i].charAt(0), i + 1);
+			}
+		}
+		for (String command : new String[] {"H", "S", "D"}) {
+			COMMANDS[command.charAt(0)] = command;
+			COMMANDS[Character.toLowerCase(command.charAt(0))] = command;
+		}
+	}
+	
+	/**************
+	 * Purpose:  Map the file into memory and check every token in
+	 * 		it. Throws an IOException if the file can't be read.
+	 **************/
+	public ScriptReader(String filePath) throws IOException {
+		this(map(filePath));
+	}
+	
+	public ScriptReader(ByteBuffer buffer) {
+		this.buffer = buffer;
+		this.limit = buffer.limit();
+		check();
+	}
+	
+	public static ScriptReader of(String text) {
+		return new ScriptReader(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the code of the next card in the file, or
+	 * 		-1 once there are no cards left. Commands are skipped.
+	 **************/
+	public int nextCard() {
+		int code = -1;
+		
+		while (code < 0 && cardPosition < limit) {
+			int start = skipSpaces(cardPosition);
+			
+			cardPosition = tokenEnd(start);
+			code = cardAt(start, cardPosition);
+		}
+		
+		if (code >= 0) {
+			cardsLeft--;
+		}
+		
+		return code;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the next player command in the file, in
+	 * 		upper case, or null once there are none left. Cards are
+	 * 		skipped.
+	 **************/
+	public String nextCommand() {
+		String command = null;
+		
+		while (command == null && commandPosition < limit) {
+			int start = skipSpaces(commandPosition);
+			
+			commandPosition = tokenEnd(start);
+			command = commandAt(start, commandPosition);
+		}
+		
+		return command;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the code of a card left in the file without
+	 * 		reading it. 0 is the next card.
+	 **************/
+	public int peekCard(int index) {
+		int position = cardPosition;
+		int left = cardsLeft;
+		int code = -1;
+		
+		for (int i = 0; i <= index; i++) {
+			code = nextCard();
+		}
+		
+		cardPosition = position;
+		cardsLeft = left;
+		
+		return code;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the cards left in the file as a new list,
+	 * 		without reading them.
+	 **************/
+	public List<Card> getCards() {
+		List<Card> cards = new ArrayList<Card>(cardsLeft);
+		int position = cardPosition;
+		
+		for (int code = nextCard(); code >= 0; code = nextCard()) {
+			cards.add(Card.of(code));
+		}
+		
+		cardPosition = position;
+		cardsLeft = cards.size();
+		
+		return cards;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the player commands left in the file as a
+	 * 		new list, without reading them.
+	 **************/
+	public List<String> getCommands() {
+		List<String> commands = new ArrayList<String>();
+		int position = commandPosition;
+		
+		for (String command = nextCommand(); command != null; command = nextCommand()) {
+			commands.add(command);
+		}
+		
+		commandPosition = position;
+		
+		return commands;
+	}
+	
+	
+	public void rewindCards() {
+		cardPosition = 0;
+		cardsLeft = cardCount;
+	}
+	
+	
+	public void skipCards() {
+		cardPosition = limit;
+		cardsLeft = 0;
+	}
+	
+	
+	public int cardsLeft() {
+		return cardsLeft;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return how many cards of a rank are in the whole
+	 * 		file, where the rank is its position in Card.RANKS.
+	 **************/
+	public int getRankCount(int rankIndex) {
+		return rankCounts[rankIndex];
+	}
+	
+	
+	/**************
+	 * Purpose:  False if the file holds anything that is neither
+	 * 		a card nor a player command.
+	 **************/
+	public boolean isValid() {
+		return valid;
+	}
+	
+	
+	public boolean hasDuplicates() {
+		return duplicates;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the code of a card written like "SK" or
+	 * 		"h10", or -1 if it is not a card.
+	 **************/
+	public static int cardCode(String token) {
+		int code = -1;
+		
+		if (token != null && token.length() == 2) {
+			code = cardCode(token.charAt(0), rankIndex(token.charAt(1)));
+		}
+		else if (token != null && token.length() == 3 && token.charAt(1) == '1' && token.charAt(2) == '0') {
+			code = cardCode(token.charAt(0), TEN);
+		}
+		
+		return code;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the player command in upper case, or null
+	 * 		if it is not a player command.
+	 **************/
+	public static String command(String token) {
+		String command = null;
+		
+		if (token != null && token.length() == 1 && token.charAt(0) < COMMANDS.length) {
+			command = COMMANDS[token.charAt(0)];
+		}
+		
+		return command;
+	}
+	
+	
+	/**************
+	 * Purpose:  Read through the whole file once to count the
+	 * 		cards and look for bad tokens and duplicate cards.
+	 **************/
+	private void check() {
+		long seen = 0;
+		int position = 0;
+		
+		while (position < limit) {
+			int start = skipSpaces(position);
+			int code = cardAt(start, position = tokenEnd(start));
+			
+			if (code >= 0) {
+				duplicates |= (seen & 1L << code) != 0;
+				seen |= 1L << code;
+				rankCounts[Card.rankIndexOf(code)]++;
+				cardCount++;
+			}
+			else if (start < position && commandAt(start, position) == null) {
+				valid = false;
+			}
+		}
+		
+		cardsLeft = cardCount;
+	}
+	
+	
+	private int cardAt(int start, int end) {
+		int code = -1;
+		
+		if (end - start == 2) {
+			code = cardCode(buffer.get(start) & 0xFF, rankIndex(buffer.get(start + 1) & 0xFF));
+		}
+		else if (end - start == 3 && buffer.get(start + 1) == '1' && buffer.get(start + 2) == '0') {
+			code = cardCode(buffer.get(start) & 0xFF, TEN);
+		}
+		
+		return code;
+	}
+	
+	
+	private static int cardCode(int suit, int rankIndex) {
+		int suitIndex = suit < SUIT_INDEX.length ? SUIT_INDEX[suit] - 1 : -1;
+		
+		return suitIndex < 0 || rankIndex < 0 ? -1 : suitIndex * Card.RANKS.length + rankIndex;
+	}
+	
+	
+	private static int rankIndex(int rank) {
+		return rank < RANK_INDEX.length ? RANK_INDEX[rank] - 1 : -1;
+	}
+	
+	
+	private String commandAt(int start, int end) {
+		return end - start == 1 ? COMMANDS[buffer.get(start) & 0xFF] : null;
+	}
+	
+	
+	private int skipSpaces(int position) {
+		while (position < limit && isSpace(buffer.get(position))) {
+			position++;
+		}
+		
+		return position;
+	}
+	
+	
+	private int tokenEnd(int position) {
+		while (position < limit && !isSpace(buffer.get(position))) {
+			position++;
+		}
+		
+		return position;
+	}
+	
+	
+	private static boolean isSpace(byte b) {
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+	}
+	
+	
+	private static void setIndex(byte[] table, char c, int index) {
+		table[c] = (byte) index;
+		table[Character.toLowerCase(c)] = (byte) index;
+	}
+	
+	
+	/**************
+	 * Purpose:  Map a large file into memory. Small files are just
+	 * 		read, since mapping them costs more than it saves.
+	 **************/
+	private static ByteBuffer map(String filePath) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+			ByteBuffer buffer;
+			
+			if (channel.size() >= MAP_THRESHOLD) {
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			else {
+				buffer = ByteBuffer.allocate((int) channel.size());
+				
+				while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				}
+				buffer.flip();
+			}
+			
+			return buffer;
+		}
+	}
+}
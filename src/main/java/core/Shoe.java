@@ -0,0 +1,143 @@
+package core;
+
+import java.util.Arrays;
+
+public class Shoe extends Deck {
+	public static final double DEFAULT_PENETRATION = 0.75;
+	
+	protected int decks;
+	protected int cutCard;		// index of the card the cut card is placed in front of
+	protected int roundStart = 0;	// index of the first card drawn this round
+	
+	public Shoe(int decks) {
+		this(decks, DEFAULT_PENETRATION);
+	}
+	
+	/**************
+	 * Purpose:  Create a shoe of several shuffled decks. The cut
+	 * 		card is placed after the given fraction of the shoe,
+	 * 		and the shoe should be reshuffled once it is reached.
+	 **************/
+	public Shoe(int decks, double penetration) {
+		this(decks, penetration, RandomSource.threadLocal());
+	}
+	
+	
+	public Shoe(int decks, double penetration, RandomSource random) {
+		if (decks < 1) {
+			throw new IllegalArgumentException("A shoe needs at least one deck.");
+		}
+		if (penetration <= 0 || penetration > 1) {
+			throw new IllegalArgumentException("Penetration must be above 0 and at most 1.");
+		}
+		
+		this.decks = decks;
+		this.random = random;
+		cards = new int[decks * Card.DECK_SIZE];
+		size = cards.length;
+		cutCard = (int) (size * penetration);
+		
+		for (int i = 0; i < size; i++) {
+			cards[i] = i % Card.DECK_SIZE;
+		}
+		
+		recount();
+		shuffle();
+	}
+	
+	
+	/**************
+	 * Purpose:  Draw the next card. If a round runs past the
+	 * 		end of the shoe, the cards from earlier rounds are
+	 * 		reshuffled first. The cards drawn this round are still
+	 * 		on the table, so they stay out of the shoe and are
+	 * 		counted again from the start. If every card was drawn
+	 * 		this round, the shoe is empty and an exception is
+	 * 		thrown like an empty deck.
+	 **************/
+	@Override
+	public int drawCode() {
+		if (top >= size && roundStart > 0) {
+			reshuffleDiscards();
+		}
+		
+		return super.drawCode();
+	}
+	
+	
+	/**************
+	 * Purpose:  Mark where a round starts, after reshuffling if the
+	 * 		cut card has come out.
+	 **************/
+	@Override
+	public void startRound() {
+		super.startRound();
+		roundStart = top;
+	}
+	
+	
+	@Override
+	public void reset() {
+		super.reset();
+		roundStart = 0;
+	}
+	
+	
+	/**************
+	 * Purpose:  The shoe only needs to be reshuffled once the
+	 * 		cut card has come out.
+	 **************/
+	@Override
+	public boolean needsShuffle() {
+		return top >= cutCard;
+	}
+	
+	
+	/**************
+	 * Purpose:  A shoe holds each card once per deck, so a card
+	 * 		is only a duplicate if it appears more often than that.
+	 **************/
+	@Override
+	public boolean checkDuplicates() {
+		boolean check = true;
+		int[] counts = new int[Card.DECK_SIZE];
+		
+		for (int i = top; i < size && check; i++) {
+			check = ++counts[cards[i]] <= decks;
+		}
+		
+		return check;
+	}
+	
+	
+	/**************
+	 * Purpose:  Move the cards drawn this round to the front of
+	 * 		the shoe, as already drawn, and shuffle the discards
+	 * 		behind them.
+	 **************/
+	private void reshuffleDiscards() {
+		int onTable = top - roundStart;
+		int[] table = Arrays.copyOfRange(cards, roundStart, top);
+		
+		System.arraycopy(cards, 0, cards, onTable, roundStart);
+		System.arraycopy(table, 0, cards, 0, onTable);
+		top = onTable;
+		roundStart = 0;
+		recount();
+		shuffle();
+	}
+	
+	
+	public int getDecks() {
+		return decks;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return the number of cards that can be drawn
+	 * 		before the cut card comes out.
+	 **************/
+	public int cardsBeforeCut() {
+		return Math.max(0, cutCard - top);
+	}
+}
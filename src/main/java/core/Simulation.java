@@ -0,0 +1,345 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class Simulation {
+	private static final long DEFAULT_ROUNDS = 1000000;
+	private static final int PLAYER_STAND_SCORE = 17;
+
+	protected long rounds = 0;
+	protected long wins = 0;
+	protected long losses = 0;
+	protected long pushes = 0;
+	protected long blackjacks = 0;
+	protected long elapsedNanos = 0;
+
+	private ConsoleIO io = new ConsoleIO(OutputSink.quiet());
+	private Deck deck;
+	private DecisionProvider decisions;
+	private RoundJournal journal = null;
+	private Rules rules = Rules.DEFAULT;
+	private Player human = null;
+	private DealerPlayer dealer = null;
+
+	/**************
+	 * Purpose:  Run the simulation without any console input. The
+	 * 		number of rounds can be given as the first argument,
+	 * 		the number of threads as the second, and the number of
+	 * 		decks in the shoe as the third. If the fourth argument
+	 * 		is "table", the human plays from a StrategyTable. A
+	 * 		fifth argument seeds the shuffles, so the same seed and
+	 * 		number of threads always give the same results. The
+	 * 		sixth argument sets the rules, see Rules.parse().
+	 **************/
+	public static void main(String[] args) throws InterruptedException {
+		long rounds = DEFAULT_ROUNDS;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int decks = 1;
+		boolean table = false;
+		StrategyTable strategy = null;
+		RandomSource random = RandomSource.threadLocal();
+		Rules rules = Rules.DEFAULT;
+
+		if (args.length > 0) {
+			rounds = Long.parseLong(args[0]);
+		}
+		if (args.length > 1) {
+			threads = Integer.parseInt(args[1]);
+		}
+		if (args.length > 2) {
+			decks = Integer.parseInt(args[2]);
+		}
+		if (args.length > 3) {
+			table = args[3].equalsIgnoreCase("table");
+		}
+		if (args.length > 4) {
+			random = RandomSource.seeded(Long.parseLong(args[4]));
+		}
+		if (args.length > 5) {
+			rules = Rules.parse(args[5]);
+		}
+		if (table) {
+			strategy = StrategyTable.compute(decks, rules);
+		}
+
+		Simulation simulation = runParallel(rounds, threads, decks, strategy, random, rules);
+		new ConsoleIO().outputln(simulation.getReport());
+	}
+
+
+	/**************
+	 * Purpose:  Create a simulation that deals every round from a
+	 * 		single deck, reshuffled before each round like Game.
+	 **************/
+	public Simulation() {
+		this(new Deck());
+	}
+
+
+	/**************
+	 * Purpose:  Create a simulation that deals from the given deck
+	 * 		or shoe. It is only reshuffled when needsShuffle() says so.
+	 **************/
+	public Simulation(Deck deck) {
+		this(deck, (DecisionProvider) null);
+	}
+
+
+	/**************
+	 * Purpose:  Create a simulation where the human is a BotPlayer
+	 * 		using the given table. With no table, the human hits
+	 * 		until 17 or more.
+	 **************/
+	public Simulation(Deck deck, StrategyTable strategy) {
+		this(deck, strategy == null ? null : DecisionProvider.table(strategy));
+	}
+	
+	
+	/**************
+	 * Purpose:  Create a simulation where the human is a BotPlayer
+	 * 		taking its decisions from the given provider. With no
+	 * 		provider, the human hits until 17 or more.
+	 **************/
+	public Simulation(Deck deck, DecisionProvider decisions) {
+		this.deck = deck;
+		this.decisions = decisions;
+		deck.reshuffle();
+	}
+
+
+	public static Simulation runParallel(long numberOfRounds, int threads) throws InterruptedException {
+		return runParallel(numberOfRounds, threads, 1, null);
+	}
+
+
+	/**************
+	 * Purpose:  Split the rounds across the given number of threads.
+	 * 		Every thread plays its own tables, so nothing is shared
+	 * 		until the totals are combined at the end. With more than
+	 * 		one deck, each thread plays from its own shoe.
+	 **************/
+	public static Simulation runParallel(long numberOfRounds, int threads, int decks, 
+										 StrategyTable strategy) throws InterruptedException {
+		return runParallel(numberOfRounds, threads, decks, strategy, RandomSource.threadLocal());
+	}
+
+
+	/**************
+	 * Purpose:  Same as above, but every thread shuffles with its
+	 * 		own stream split from the given source. The streams are
+	 * 		split before any thread starts, so a seeded source gives
+	 * 		the same results every time.
+	 **************/
+	public static Simulation runParallel(long numberOfRounds, int threads, int decks, 
+										 StrategyTable strategy, RandomSource random) throws InterruptedException {
+		return runParallel(numberOfRounds, threads, decks, strategy, random, Rules.DEFAULT);
+	}
+
+
+	/**************
+	 * Purpose:  Same as above, with every table following the given
+	 * 		rules.
+	 **************/
+	public static Simulation runParallel(long numberOfRounds, int threads, final int decks, final StrategyTable strategy, 
+										 RandomSource random, final Rules rules) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<Simulation>> results = new ArrayList<Future<Simulation>>();
+		Simulation total = new Simulation();
+		long start = System.nanoTime();
+
+		try {
+			for (int i = 0; i < threads; i++) {
+				final long share = numberOfRounds / threads + (i < numberOfRounds % threads ? 1 : 0);
+				final RandomSource stream = random.split();
+
+				results.add(pool.submit(new Callable<Simulation>() {
+					@Override
+					public Simulation call() {
+						Deck deck = decks > 1 ? new Shoe(decks, Shoe.DEFAULT_PENETRATION, stream) : new Deck(stream);
+						Simulation simulation = new Simulation(deck, strategy);
+						simulation.setRules(rules);
+						simulation.run(share);
+						return simulation;
+					}
+				}));
+			}
+
+			for (Future<Simulation> result : results) {
+				total.merge(result.get());
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+
+		total.elapsedNanos = System.nanoTime() - start;
+
+		return total;
+	}
+
+
+	/**************
+	 * Purpose:  Record every round this simulation plays in the
+	 * 		given journal. The journal is not closed by the simulation.
+	 **************/
+	public void setJournal(RoundJournal journal) {
+		this.journal = journal;
+	}
+
+
+	public void setRules(Rules rules) {
+		this.rules = rules;
+	}
+
+
+	/**************
+	 * Purpose:  Play the given number of rounds, adding the
+	 * 		results to the totals kept by the simulation.
+	 **************/
+	public void run(long numberOfRounds) {
+		long start = System.nanoTime();
+
+		for (long i = 0; i < numberOfRounds; i++) {
+			playRound();
+		}
+
+		elapsedNanos += System.nanoTime() - start;
+	}
+
+
+	/**************
+	 * Purpose:  Play a single round the same way Game does, but
+	 * 		without printing anything or asking for input. Without
+	 * 		a decision provider, the human hits until they reach 17 or
+	 * 		more, and never splits. The players are made for the
+	 * 		first round, then reset for every round after it, so a
+	 * 		round allocates nothing, as long as the decisions don't.
+	 **************/
+	protected void playRound() {
+		deck.startRound();
+
+		if (human == null) {
+			human = decisions == null ? new Player(deck, io) : new BotPlayer(deck, io, decisions);
+			dealer = new DealerPlayer(deck, io);
+		}
+		else {
+			human.reset(deck);
+			dealer.reset(deck);
+		}
+
+		human.setRules(rules);
+		dealer.setRules(rules);
+		human.initialBlackjack = human.getBestHandState() == Hand.HandState.blackjack;
+		dealer.initialBlackjack = dealer.getBestHandState() == Hand.HandState.blackjack;
+
+		if (!human.initialBlackjack && !dealer.initialBlackjack) {
+			if (decisions != null) {
+				human.setDealerUpcard(dealer.hand.cards.get(0));
+				human.takeTurn(deck);
+			}
+			else {
+				while (human.hand.getScore() < PLAYER_STAND_SCORE) {
+					human.hand.hit(deck);
+				}
+			}
+
+			if (human.getBestHandState() != Hand.HandState.busted) {
+				dealer.play(deck, human);
+			}
+		}
+
+		recordResult(human, dealer);
+	}
+
+
+	/**************
+	 * Purpose:  Add the outcome of a finished round to the totals.
+	 * 		Rounds are settled the same way as Game.getWinner(), so
+	 * 		a tie is a push. Returns the outcome, see
+	 * 		Game.getOutcome().
+	 **************/
+	protected Game.Outcome recordResult(Player human, DealerPlayer dealer) {
+		Game.Outcome outcome = Game.getOutcome(human, dealer);
+
+		rounds++;
+
+		switch (outcome) {
+			case won :
+				wins++;
+				if (human.initialBlackjack) {
+					blackjacks++;
+				}
+				break;
+			case lost :
+				losses++;
+				break;
+			default :
+				pushes++;
+				break;
+		}
+
+		if (journal != null) {
+			journal.record(human, dealer, outcome);
+		}
+
+		return outcome;
+	}
+
+
+	/**************
+	 * Purpose:  Add another simulation's totals to this one.
+	 **************/
+	public void merge(Simulation other) {
+		rounds += other.rounds;
+		wins += other.wins;
+		losses += other.losses;
+		pushes += other.pushes;
+		blackjacks += other.blackjacks;
+		elapsedNanos += other.elapsedNanos;
+	}
+
+
+	/**************
+	 * Purpose:  Return the win, loss, push and blackjack rates,
+	 * 		and the number of rounds played per second.
+	 **************/
+	public String getReport() {
+		String nl = System.lineSeparator();
+
+		return "Rounds played: " + rounds + nl +
+			   "Wins: " + wins + " (" + percent(wins) + ")" + nl +
+			   "Losses: " + losses + " (" + percent(losses) + ")" + nl +
+			   "Pushes: " + pushes + " (" + percent(pushes) + ")" + nl +
+			   "Blackjacks: " + blackjacks + " (" + percent(blackjacks) + ")" + nl +
+			   "Rounds per second: " + String.format("%.0f", getRoundsPerSecond());
+	}
+
+
+	public double getRoundsPerSecond() {
+		double rate = 0;
+
+		if (elapsedNanos > 0) {
+			rate = rounds / (elapsedNanos / 1e9);
+		}
+
+		return rate;
+	}
+
+
+	private String percent(long count) {
+		double rate = 0;
+
+		if (rounds > 0) {
+			rate = 100.0 * count / rounds;
+		}
+
+		return String.format("%.2f%%", rate);
+	}
+}
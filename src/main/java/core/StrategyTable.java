@@ -0,0 +1,324 @@
+package core;
+
+public class StrategyTable {
+	private static final int RANKS = DealerProbabilities.RANKS;
+	private static final int BUSTED = 22;
+	
+	// rows are hard 4 to 21, then soft 12 to 21, then pairs of each rank group
+	private static final int HARD_ROW = 0;
+	private static final int SOFT_ROW = 18;
+	private static final int PAIR_ROW = 28;
+	private static final int ROWS = 38;
+	private static final Player.Action[] ACTIONS = Player.Action.values();
+	
+	private final byte[] actions = new byte[ROWS * RANKS];
+	
+	
+	/**************
+	 * Purpose:  Print the table for the given number of decks.
+	 **************/
+	public static void main(String[] args) {
+		int decks = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+		
+		new ConsoleIO().outputln(compute(decks).toString());
+	}
+	
+	
+	/**************
+	 * Purpose:  Compute the table for a full shoe of the given
+	 * 		number of decks.
+	 **************/
+	public static StrategyTable compute(int decks) {
+		return compute(decks, Rules.DEFAULT);
+	}
+	
+	
+	/**************
+	 * Purpose:  Compute the table for a full shoe of the given
+	 * 		number of decks, played by the given rules.
+	 **************/
+	public static StrategyTable compute(int decks, Rules rules) {
+		int[] counts = new int[RANKS];
+		
+		for (int rank = 0; rank < RANKS; rank++) {
+			counts[rank] = (rank == RANKS - 1 ? 16 : 4) * decks;
+		}
+		
+		return compute(counts, rules);
+	}
+	
+	
+	public static StrategyTable compute(int[] counts) {
+		return compute(counts, Rules.DEFAULT);
+	}
+	
+	
+	/**************
+	 * Purpose:  Compute the action with the best expected return
+	 * 		for every hand and dealer upcard, under the rules of
+	 * 		Game: a win is worth 1, a loss -1 and a tie is a push
+	 * 		worth 0, the human may split as often as the rules
+	 * 		allow, and a split is settled on the better of the two
+	 * 		hands. Decisions are only made when nobody has an
+	 * 		initial blackjack, so the dealer's odds from
+	 * 		DealerProbabilities are taken without one, and how the
+	 * 		rules settle two blackjacks makes no difference. The
+	 * 		human's draws use the odds of the full composition, and
+	 * 		split hands are played with the non-split actions. The
+	 * 		dealer's odds are only worked out for the dealer in
+	 * 		Rules.DEFAULT, so any other dealer is refused rather
+	 * 		than played with a table tuned for another game.
+	 **************/
+	public static StrategyTable compute(int[] counts, Rules rules) {
+		if (!rules.sameDealer(Rules.DEFAULT)) {
+			throw new IllegalArgumentException("The strategy table only supports the default dealer rules, not " + rules);
+		}
+		
+		StrategyTable table = new StrategyTable();
+		DealerProbabilities dealerProbabilities = new DealerProbabilities();
+		double[] draw = new double[RANKS];
+		int total = 0;
+		
+		for (int rank = 0; rank < RANKS; rank++) {
+			total += counts[rank];
+		}
+		for (int rank = 0; rank < RANKS; rank++) {
+			draw[rank] = (double) counts[rank] / total;
+		}
+		
+		for (int upcard = 0; upcard < RANKS; upcard++) {
+			if (counts[upcard] == 0) continue;
+			
+			int[] remaining = counts.clone();
+			remaining[upcard]--;
+			// the clubs are coded in rank order, so Card.of(upcard) has the right value
+			double[] dealer = withoutBlackjack(dealerProbabilities.get(Card.of(upcard), remaining));
+			table.fill(upcard, dealer, draw, rules.maxSplits > 0);
+		}
+		
+		return table;
+	}
+	
+	
+	/**************
+	 * Purpose:  Returns the action for the human's current hand.
+	 * 		canSplit should be false once the human has split.
+	 **************/
+	public Player.Action getAction(Hand hand, Card dealerUpcard, boolean canSplit) {
+		int pair = canSplit && hand.canSplit() ? DealerProbabilities.rankOf(hand.cards.get(0)) : -1;
+		
+		return getAction(hand.getScore(), hand.getAceWorth11(), pair, DealerProbabilities.rankOf(dealerUpcard));
+	}
+	
+	
+	/**************
+	 * Purpose:  Same as above, for a hand given by its score and
+	 * 		whether an ace is worth 11. pair is the rank of a pair
+	 * 		the human may split, or -1. Ranks are the same as in
+	 * 		DealerProbabilities.
+	 **************/
+	public Player.Action getAction(int score, boolean soft, int pair, int upcard) {
+		int row;
+		
+		if (pair >= 0) {
+			row = PAIR_ROW + pair;
+		}
+		else if (soft) {
+			row = SOFT_ROW + score - 12;
+		}
+		else {
+			row = HARD_ROW + Math.max(4, Math.min(21, score)) - 4;
+		}
+		
+		return ACTIONS[actions[row * RANKS + upcard]];
+	}
+	
+	
+	/**************
+	 * Purpose:  Work out every row for one dealer upcard. Pairs
+	 * 		are only split if splitting is allowed.
+	 **************/
+	private void fill(int upcard, double[] dealer, double[] draw, boolean splits) {
+		double[][] ev = new double[BUSTED][2];
+		boolean[][] hit = new boolean[BUSTED][2];
+		
+		// hitting always raises the hard total, so fill from the top down
+		for (int hard = 21; hard >= 2; hard--) {
+			for (int ace = 0; ace < 2; ace++) {
+				double hitEv = 0;
+				for (int rank = 0; rank < RANKS; rank++) {
+					int next = hard + rank + 1;
+					hitEv += draw[rank] * (next < BUSTED ? ev[next][rank == 0 ? 1 : ace] : -1);
+				}
+				
+				double stayEv = stayEv(score(hard, ace == 1), dealer);
+				hit[hard][ace] = hitEv > stayEv;
+				ev[hard][ace] = Math.max(hitEv, stayEv);
+			}
+		}
+		
+		for (int score = 4; score <= 21; score++) {
+			set(HARD_ROW + score - 4, upcard, hit[score][0] ? Player.Action.hit : Player.Action.stay);
+		}
+		for (int score = 12; score <= 21; score++) {
+			set(SOFT_ROW + score - 12, upcard, hit[score - 10][1] ? Player.Action.hit : Player.Action.stay);
+		}
+		
+		double[][][] finals = new double[BUSTED][2][];
+		for (int pair = 0; pair < RANKS; pair++) {
+			int hard = 2 * (pair + 1);
+			int ace = pair == 0 ? 1 : 0;
+			Player.Action action = hit[hard][ace] ? Player.Action.hit : Player.Action.stay;
+			
+			if (splits && splitEv(pair, dealer, draw, hit, finals) > ev[hard][ace]) {
+				action = Player.Action.split;
+			}
+			set(PAIR_ROW + pair, upcard, action);
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  The expected return of splitting a pair. Each hand
+	 * 		gets one more card and is played out, and the better of
+	 * 		the two is compared with the dealer: the human wins if
+	 * 		either hand beats the dealer, and loses only if both
+	 * 		hands are beaten.
+	 **************/
+	private static double splitEv(int pair, double[] dealer, double[] draw, boolean[][] hit, double[][][] finals) {
+		double[] hand = new double[BUSTED + 1];
+		double splitEv = 0;
+		
+		for (int rank = 0; rank < RANKS; rank++) {
+			double[] scores = finalScores(pair + rank + 2, pair == 0 || rank == 0, draw, hit, finals);
+			for (int i = 0; i <= BUSTED; i++) {
+				hand[i] += draw[rank] * scores[i];
+			}
+		}
+		
+		for (int outcome = 0; outcome <= DealerProbabilities.BUST; outcome++) {
+			// the dealer's score, which a busted dealer has none of
+			int dealerScore = outcome == DealerProbabilities.BUST ? 0 : outcome + 17;
+			double worse = hand[BUSTED];
+			
+			for (int score = 0; score < dealerScore; score++) {
+				worse += hand[score];
+			}
+			
+			double notBetter = worse + (dealerScore > 0 ? hand[dealerScore] : 0);
+			splitEv += dealer[outcome] * (1 - notBetter * notBetter - worse * worse);
+		}
+		
+		return splitEv;
+	}
+	
+	
+	/**************
+	 * Purpose:  The chance of each final score for a hand played
+	 * 		with the given hit decisions. Index 22 is busting.
+	 **************/
+	private static double[] finalScores(int hard, boolean hasAce, double[] draw, boolean[][] hit, double[][][] finals) {
+		double[] scores = new double[BUSTED + 1];
+		
+		if (hard >= BUSTED) {
+			scores[BUSTED] = 1;
+		}
+		else if (finals[hard][hasAce ? 1 : 0] != null) {
+			scores = finals[hard][hasAce ? 1 : 0];
+		}
+		else {
+			if (hit[hard][hasAce ? 1 : 0]) {
+				for (int rank = 0; rank < RANKS; rank++) {
+					double[] next = finalScores(hard + rank + 1, hasAce || rank == 0, draw, hit, finals);
+					for (int i = 0; i <= BUSTED; i++) {
+						scores[i] += draw[rank] * next[i];
+					}
+				}
+			}
+			else {
+				scores[score(hard, hasAce)] = 1;
+			}
+			finals[hard][hasAce ? 1 : 0] = scores;
+		}
+		
+		return scores;
+	}
+	
+	
+	/**************
+	 * Purpose:  The expected return of staying on a score. A score
+	 * 		below 17 only wins if the dealer busts, and a tie with
+	 * 		the dealer is a push.
+	 **************/
+	private static double stayEv(int score, double[] dealer) {
+		double stayEv = dealer[DealerProbabilities.BUST];
+		
+		for (int dealerScore = 17; dealerScore <= 21; dealerScore++) {
+			double p = dealer[DealerProbabilities.index(dealerScore)];
+			
+			if (dealerScore < score) {
+				stayEv += p;
+			}
+			else if (dealerScore > score) {
+				stayEv -= p;
+			}
+		}
+		
+		return stayEv;
+	}
+	
+	
+	private static double[] withoutBlackjack(double[] dealer) {
+		double rest = 1 - dealer[DealerProbabilities.BLACKJACK];
+		
+		if (rest > 0) {
+			for (int i = 0; i < DealerProbabilities.BLACKJACK; i++) {
+				dealer[i] /= rest;
+			}
+		}
+		dealer[DealerProbabilities.BLACKJACK] = 0;
+		
+		return dealer;
+	}
+	
+	
+	private static int score(int hard, boolean hasAce) {
+		return hasAce && hard + 10 <= 21 ? hard + 10 : hard;
+	}
+	
+	
+	private void set(int row, int upcard, Player.Action action) {
+		actions[row * RANKS + upcard] = (byte) action.ordinal();
+	}
+	
+	
+	/**************
+	 * Purpose:  Returns the table as text, with H for hit, S for
+	 * 		stay and D for split, like the console commands.
+	 **************/
+	@Override
+	public String toString() {
+		String nl = System.lineSeparator();
+		StringBuilder sb = new StringBuilder("      A  2  3  4  5  6  7  8  9 10").append(nl);
+		
+		for (int row = 0; row < ROWS; row++) {
+			if (row < SOFT_ROW) {
+				sb.append(String.format("H %2d ", row - HARD_ROW + 4));
+			}
+			else if (row < PAIR_ROW) {
+				sb.append(String.format("S %2d ", row - SOFT_ROW + 12));
+			}
+			else {
+				sb.append(String.format("P %2s ", row == PAIR_ROW ? "A" : Integer.toString(row - PAIR_ROW + 1)));
+			}
+			
+			for (int upcard = 0; upcard < RANKS; upcard++) {
+				Player.Action action = ACTIONS[actions[row * RANKS + upcard]];
+				sb.append(action == Player.Action.hit ? "  H" : action == Player.Action.stay ? "  S" : "  D");
+			}
+			sb.append(nl);
+		}
+		
+		return sb.toString();
+	}
+}
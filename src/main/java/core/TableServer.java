@@ -0,0 +1,263 @@
+package core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**************
+ * Purpose:  Hosts a table for every player that connects over
+ * 		TCP on a local port. Each connection plays games the same
+ * 		way as the console, one line at a time: every prompt is
+ * 		sent as its own line, and the player answers with a line
+ * 		such as "c", "h", "s", "d" or "q". Sessions run on virtual
+ * 		threads when the JVM has them (Java 21 and later), and on
+ * 		platform threads with a small stack otherwise.
+ **************/
+public class TableServer implements Closeable {
+	public static final int DEFAULT_PORT = 3004;
+	
+	private static final int IDLE_TIMEOUT_MILLIS = 10 * 60 * 1000;
+	private static final int BUFFER_SIZE = 1024;
+	private static final long PLATFORM_STACK_SIZE = 256 * 1024;
+	private static final long ACCEPT_RETRY_MILLIS = 100;
+	
+	private final ServerSocket server;
+	private final ThreadFactory sessionThreads;
+	private final boolean virtual;
+	private final AtomicInteger activeSessions = new AtomicInteger();
+	private final AtomicInteger sessionNumber = new AtomicInteger();
+	private final AtomicInteger acceptFailures = new AtomicInteger();
+	private Thread acceptor;
+	
+	/**************
+	 * Purpose:  Listen on the given port of the loopback address.
+	 * 		Port 0 picks any free port, see getPort().
+	 **************/
+	public TableServer(int port) throws IOException {
+		ThreadFactory factory = virtualThreadFactory();
+		
+		this.server = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+		this.virtual = factory != null;
+		this.sessionThreads = virtual ? factory : new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable session) {
+				Thread thread = new Thread(null, session, "session-" + sessionNumber.incrementAndGet(), PLATFORM_STACK_SIZE);
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+	}
+	
+	
+	/**************
+	 * Purpose:  Run a server until the process is stopped. The
+	 * 		port can be given as the first argument.
+	 **************/
+	public static void main(String[] args) throws IOException, InterruptedException {
+		TableServer server = new TableServer(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT);
+		
+		Metrics.enable(new ConsoleIO());
+		server.start();
+		new ConsoleIO().outputln("Serving tables on port ", Integer.toString(server.getPort()), 
+								 server.usesVirtualThreads() ? " with virtual threads." : " with platform threads.");
+		server.acceptor.join();
+	}
+	
+	
+	/**************
+	 * Purpose:  Start accepting players on a background thread.
+	 **************/
+	public synchronized void start() {
+		if (acceptor == null) {
+			acceptor = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					accept();
+				}
+			}, "table-server");
+			acceptor.start();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Stop accepting players. Sessions that are already
+	 * 		running carry on until their players leave.
+	 **************/
+	@Override
+	public void close() throws IOException {
+		server.close();
+	}
+	
+	
+	public int getPort() {
+		return server.getLocalPort();
+	}
+	
+	
+	public int getActiveSessions() {
+		return activeSessions.get();
+	}
+	
+	
+	public boolean usesVirtualThreads() {
+		return virtual;
+	}
+	
+	
+	/**************
+	 * Purpose:  The number of times a player couldn't be accepted
+	 * 		while the server was still open.
+	 **************/
+	public int getAcceptFailures() {
+		return acceptFailures.get();
+	}
+	
+	
+	/**************
+	 * Purpose:  Wait for the next player to connect.
+	 **************/
+	protected Socket acceptPlayer() throws IOException {
+		return server.accept();
+	}
+	
+	
+	/**************
+	 * Purpose:  Accept players until the server is closed. A
+	 * 		failure while the server is still open, such as running
+	 * 		out of file descriptors, is reported, and accepting
+	 * 		starts again after a short wait.
+	 **************/
+	private void accept() {
+		while (!server.isClosed() && !Thread.currentThread().isInterrupted()) {
+			try {
+				final Socket socket = acceptPlayer();
+				
+				activeSessions.incrementAndGet();
+				sessionThreads.newThread(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							serve(socket);
+						} finally {
+							activeSessions.decrementAndGet();
+						}
+					}
+				}).start();
+			} catch (IOException e) {
+				if (!server.isClosed()) {
+					acceptFailed(e);
+				}
+			}
+		}
+	}
+	
+	
+	private void acceptFailed(IOException e) {
+		acceptFailures.incrementAndGet();
+		new ConsoleIO().outputln("Could not accept a player: ", e.toString());
+		
+		try {
+			Thread.sleep(ACCEPT_RETRY_MILLIS);
+		} catch (InterruptedException interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Play games with one player until they quit, hang
+	 * 		up, or stay idle for too long.
+	 **************/
+	protected void serve(Socket socket) {
+		try (Socket player = socket) {
+			player.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+			
+			OutputSink sink = new LineSink(new BufferedSink(player.getOutputStream(), false, true, BUFFER_SIZE));
+			ConsoleIO io = new ConsoleIO(player.getInputStream(), sink) {
+				// the connection stays open between games
+				@Override
+				public void close() {
+					flush();
+				}
+			};
+			Game game;
+			
+			do {
+				game = new Game(io);
+				game.play();
+				io.outputln();
+				io.flush();
+			} while (game.gameState != Game.GameState.quit);
+		} catch (NoSuchElementException e) {
+			// the player hung up, or was idle for too long
+		} catch (IOException e) {
+			// the connection failed
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Look up Thread.ofVirtual().factory(), which only
+	 * 		exists from Java 21. Returns null if it isn't there.
+	 **************/
+	static ThreadFactory virtualThreadFactory() {
+		ThreadFactory factory = null;
+		
+		try {
+			Method ofVirtual = Thread.class.getMethod("ofVirtual");
+			Object builder = ofVirtual.invoke(null);
+			Method build = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+			
+			factory = (ThreadFactory) build.invoke(builder);
+		} catch (ReflectiveOperationException e) {
+			// platform threads only
+		}
+		
+		return factory;
+	}
+	
+	
+	/**************
+	 * Purpose:  Makes sure every prompt ends its line before the
+	 * 		player is asked to answer it.
+	 **************/
+	private static class LineSink implements OutputSink {
+		private static final String NEWLINE = System.lineSeparator();
+		
+		private final OutputSink sink;
+		private boolean lineOpen = false;
+		
+		LineSink(OutputSink sink) {
+			this.sink = sink;
+		}
+		
+		@Override
+		public void write(String text) {
+			if (!text.isEmpty()) {
+				sink.write(text);
+				lineOpen = !text.endsWith("\n");
+			}
+		}
+		
+		@Override
+		public void flush() {
+			if (lineOpen) {
+				write(NEWLINE);
+			}
+			sink.flush();
+		}
+		
+		@Override
+		public void close() {
+			flush();
+			sink.close();
+		}
+	}
+}
@@ -0,0 +1,416 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**************
+ * Purpose:  Plays several strategies against the dealer on the same
+ * 		cards, so they can be compared with far fewer rounds. Every
+ * 		entrant plays every round from its own deck, but the decks
+ * 		are seeded alike and reshuffled before every round, so each
+ * 		round starts from the same shuffle for everyone however the
+ * 		rounds before it went. Luck of the deal then mostly cancels
+ * 		out of the difference between two entrants, which is
+ * 		reported with a 95% confidence interval. The rounds are
+ * 		played in blocks spread over a fork-join pool.
+ **************/
+public class Tournament {
+	private static final long DEFAULT_ROUNDS = 1000000;
+	private static final int DEFAULT_DECKS = 6;
+	private static final String DEFAULT_ENTRANTS = "table,dealer,stand17,stand12";
+	private static final int BLOCK_ROUNDS = 10000;
+	private static final double Z_95 = 1.96;
+	
+	// the cut card goes in front of the first card, so every round is a fresh shuffle
+	private static final double SHUFFLE_EVERY_ROUND = Double.MIN_VALUE;
+	
+	private final List<String> names = new ArrayList<String>();
+	private final List<Strategy> entrants = new ArrayList<Strategy>();
+	private final int decks;
+	private Rules rules = Rules.DEFAULT;
+	
+	/**************
+	 * Purpose:  Makes an entrant's decisions for one block of
+	 * 		rounds. The random source is seeded from the block, so
+	 * 		a strategy that draws random numbers plays the same
+	 * 		however the blocks are spread over threads.
+	 **************/
+	public interface Strategy {
+		DecisionProvider forBlock(RandomSource random);
+	}
+	
+	
+	/**************
+	 * Purpose:  The totals of every entrant's payouts, and of the
+	 * 		difference between every pair of entrants, one unit bet
+	 * 		per round. Pairs are stored for i < j as entrant i minus
+	 * 		entrant j.
+	 **************/
+	public static class Results {
+		public final String[] names;
+		protected long rounds = 0;
+		protected long elapsedNanos = 0;
+		protected final double[] sum;
+		protected final double[] squares;
+		protected final double[][] pairSum;
+		protected final double[][] pairSquares;
+		
+		Results(String[] names) {
+			this.names = names;
+			sum = new double[names.length];
+			squares = new double[names.length];
+			pairSum = new double[names.length][names.length];
+			pairSquares = new double[names.length][names.length];
+		}
+		
+		/**************
+		 * Purpose:  Add one round's payouts, one per entrant.
+		 **************/
+		void add(double[] payouts) {
+			rounds++;
+			
+			for (int i = 0; i < payouts.length; i++) {
+				sum[i] += payouts[i];
+				squares[i] += payouts[i] * payouts[i];
+				
+				for (int j = i + 1; j < payouts.length; j++) {
+					double difference = payouts[i] - payouts[j];
+					
+					pairSum[i][j] += difference;
+					pairSquares[i][j] += difference * difference;
+				}
+			}
+		}
+		
+		void merge(Results other) {
+			rounds += other.rounds;
+			
+			for (int i = 0; i < sum.length; i++) {
+				sum[i] += other.sum[i];
+				squares[i] += other.squares[i];
+				
+				for (int j = i + 1; j < sum.length; j++) {
+					pairSum[i][j] += other.pairSum[i][j];
+					pairSquares[i][j] += other.pairSquares[i][j];
+				}
+			}
+		}
+		
+		public long getRounds() {
+			return rounds;
+		}
+		
+		/**************
+		 * Purpose:  The entrant's expected result per unit bet.
+		 **************/
+		public double getEv(int entrant) {
+			return rounds == 0 ? 0 : sum[entrant] / rounds;
+		}
+		
+		/**************
+		 * Purpose:  How much better entrant i did than entrant j
+		 * 		per unit bet, on the same rounds.
+		 **************/
+		public double getDifference(int i, int j) {
+			return i < j ? mean(pairSum[i][j]) : -mean(pairSum[j][i]);
+		}
+		
+		/**************
+		 * Purpose:  Half the width of the 95% confidence interval
+		 * 		of the entrant's EV.
+		 **************/
+		public double getError(int entrant) {
+			return Z_95 * Math.sqrt(variance(sum[entrant], squares[entrant]) / rounds);
+		}
+		
+		/**************
+		 * Purpose:  Half the width of the 95% confidence interval
+		 * 		of getDifference(), from the paired rounds.
+		 **************/
+		public double getPairedError(int i, int j) {
+			int low = Math.min(i, j);
+			int high = Math.max(i, j);
+			
+			return Z_95 * Math.sqrt(variance(pairSum[low][high], pairSquares[low][high]) / rounds);
+		}
+		
+		/**************
+		 * Purpose:  Half the width the interval would have had if
+		 * 		the two entrants had played separate rounds.
+		 **************/
+		public double getIndependentError(int i, int j) {
+			return Math.sqrt(getError(i) * getError(i) + getError(j) * getError(j));
+		}
+		
+		public String getReport() {
+			String nl = System.lineSeparator();
+			StringBuilder report = new StringBuilder();
+			
+			report.append("Rounds per entrant: ").append(rounds).append(nl);
+			
+			for (int i = 0; i < names.length; i++) {
+				report.append(String.format("%s: EV %+.4f +/- %.4f", names[i], getEv(i), getError(i))).append(nl);
+			}
+			
+			for (int i = 0; i < names.length; i++) {
+				for (int j = i + 1; j < names.length; j++) {
+					double paired = getPairedError(i, j);
+					double independent = getIndependentError(i, j);
+					
+					report.append(String.format("%s - %s: %+.4f +/- %.4f (independent +/- %.4f", names[i], names[j], 
+												getDifference(i, j), paired, independent));
+					
+					if (paired > 0) {
+						report.append(String.format(", %.1fx fewer rounds", independent * independent / (paired * paired)));
+					}
+					report.append(")").append(nl);
+				}
+			}
+			
+			report.append("Rounds per second: ")
+				  .append(String.format("%.0f", elapsedNanos == 0 ? 0 : rounds * names.length / (elapsedNanos / 1e9)));
+			
+			return report.toString();
+		}
+		
+		private double mean(double total) {
+			return rounds == 0 ? 0 : total / rounds;
+		}
+		
+		private double variance(double total, double totalSquares) {
+			double mean = mean(total);
+			
+			return rounds < 2 ? 0 : Math.max(0, (totalSquares - rounds * mean * mean) / (rounds - 1));
+		}
+	}
+	
+	/**************
+	 * Purpose:  Run a tournament without any console input, and
+	 * 		print the results. The arguments are the number of
+	 * 		rounds, the number of threads, the number of decks, a
+	 * 		seed, the entrants separated by commas (see named()),
+	 * 		and the rules, see Rules.parse().
+	 **************/
+	public static void main(String[] args) {
+		long rounds = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_ROUNDS;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int decks = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_DECKS;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+		String entrants = args.length > 4 ? args[4] : DEFAULT_ENTRANTS;
+		Tournament tournament = new Tournament(decks);
+		
+		if (args.length > 5) {
+			tournament.setRules(Rules.parse(args[5]));
+		}
+		
+		for (String name : entrants.split(",")) {
+			tournament.add(name.trim(), named(name.trim(), decks, tournament.rules));
+		}
+		
+		new ConsoleIO().outputln(tournament.run(rounds, threads, seed).getReport());
+	}
+	
+	
+	public Tournament(int decks) {
+		this.decks = decks;
+	}
+	
+	
+	/**************
+	 * Purpose:  Look up an entrant by name, as given on the command
+	 * 		line: "table" plays the StrategyTable for the number of
+	 * 		decks, which needs the default dealer rules, see
+	 * 		StrategyTable.compute(). "dealer" plays like the dealer,
+	 * 		"standN" hits until N or more, and "random" picks any
+	 * 		allowed action, drawing from the block's random source.
+	 **************/
+	public static Strategy named(String name, int decks, Rules rules) {
+		Strategy strategy;
+		String lower = name.toLowerCase();
+		
+		if (lower.equals("table")) {
+			strategy = always(DecisionProvider.table(StrategyTable.compute(decks, rules)));
+		}
+		else if (lower.equals("dealer")) {
+			strategy = always(DecisionProvider.dealer(rules));
+		}
+		else if (lower.equals("random")) {
+			strategy = new Strategy() {
+				@Override
+				public DecisionProvider forBlock(RandomSource random) {
+					return DecisionProvider.random(random);
+				}
+			};
+		}
+		else if (lower.matches("stand\\d+")) {
+			strategy = always(DecisionProvider.standOn(Integer.parseInt(lower.substring("stand".length()))));
+		}
+		else {
+			throw new IllegalArgumentException("Unknown strategy: " + name);
+		}
+		
+		return strategy;
+	}
+	
+	
+	/**************
+	 * Purpose:  Add an entrant. Its decisions are made on every
+	 * 		thread in the pool at once, so the provider must not
+	 * 		keep any state between decisions.
+	 **************/
+	public void add(String name, DecisionProvider decisions) {
+		add(name, always(decisions));
+	}
+	
+	
+	/**************
+	 * Purpose:  Add an entrant that gets its own decisions for
+	 * 		every block of rounds.
+	 **************/
+	public void add(String name, Strategy strategy) {
+		names.add(name);
+		entrants.add(strategy);
+	}
+	
+	
+	public void setRules(Rules rules) {
+		this.rules = rules;
+	}
+	
+	
+	/**************
+	 * Purpose:  Play the given number of rounds with every entrant
+	 * 		on the given number of threads. Each block of rounds is
+	 * 		seeded from the seed and its own number, so the same seed
+	 * 		gives the same results with any number of threads.
+	 **************/
+	public Results run(long rounds, int threads, long seed) {
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		long blocks = (rounds + BLOCK_ROUNDS - 1) / BLOCK_ROUNDS;
+		long start = System.nanoTime();
+		Results results;
+		
+		try {
+			results = blocks == 0 ? new Results(getNames()) : pool.invoke(new Blocks(0, blocks, rounds, seed));
+		} finally {
+			pool.shutdown();
+		}
+		
+		results.elapsedNanos = System.nanoTime() - start;
+		
+		return results;
+	}
+	
+	
+	private static Strategy always(final DecisionProvider decisions) {
+		return new Strategy() {
+			@Override
+			public DecisionProvider forBlock(RandomSource random) {
+				return decisions;
+			}
+		};
+	}
+	
+	
+	private String[] getNames() {
+		return names.toArray(new String[names.size()]);
+	}
+	
+	
+	/**************
+	 * Purpose:  Play one block of rounds. Every entrant has its
+	 * 		own deck with the block's seed, and they play each round
+	 * 		side by side so the payouts can be paired. The entrants'
+	 * 		own random numbers come from a stream split off the
+	 * 		block's seed, which leaves the decks' shuffles alone.
+	 **************/
+	private Results playBlock(long block, long rounds, long seed) {
+		Results results = new Results(getNames());
+		Entrant[] players = new Entrant[entrants.size()];
+		double[] payouts = new double[players.length];
+		
+		for (int i = 0; i < players.length; i++) {
+			RandomSource random = RandomSource.seeded(seed + block);
+			Deck deck = decks > 1 ? new Shoe(decks, SHUFFLE_EVERY_ROUND, random) : new Deck(random);
+			
+			players[i] = new Entrant(deck, entrants.get(i).forBlock(RandomSource.seeded(seed + block).split()));
+			players[i].setRules(rules);
+		}
+		
+		for (long round = 0; round < rounds; round++) {
+			for (int i = 0; i < players.length; i++) {
+				players[i].playRound();
+				payouts[i] = players[i].payout;
+			}
+			
+			results.add(payouts);
+		}
+		
+		return results;
+	}
+	
+	
+	/**************
+	 * Purpose:  A range of blocks, split in half until each task
+	 * 		plays a single block.
+	 **************/
+	private class Blocks extends RecursiveTask<Results> {
+		private static final long serialVersionUID = 1L;
+		
+		private final long from;
+		private final long to;
+		private final long rounds;
+		private final long seed;
+		
+		Blocks(long from, long to, long rounds, long seed) {
+			this.from = from;
+			this.to = to;
+			this.rounds = rounds;
+			this.seed = seed;
+		}
+		
+		@Override
+		protected Results compute() {
+			Results results;
+			
+			if (to - from == 1) {
+				results = playBlock(from, Math.min(BLOCK_ROUNDS, rounds - from * BLOCK_ROUNDS), seed);
+			}
+			else {
+				long middle = (from + to) >>> 1;
+				Blocks first = new Blocks(from, middle, rounds, seed);
+				
+				first.fork();
+				Results second = new Blocks(middle, to, rounds, seed).compute();
+				results = first.join();
+				results.merge(second);
+			}
+			
+			return results;
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  A simulation that keeps the payout of its last
+	 * 		round, see Bankroll.payout().
+	 **************/
+	private static class Entrant extends Simulation {
+		private double payout = 0;
+		
+		Entrant(Deck deck, DecisionProvider decisions) {
+			super(deck, decisions);
+		}
+		
+		@Override
+		protected Game.Outcome recordResult(Player human, DealerPlayer dealer) {
+			Game.Outcome outcome = super.recordResult(human, dealer);
+			
+			payout = Bankroll.payout(outcome, human.initialBlackjack, 1);
+			
+			return outcome;
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package core;
+
+/**************
+ * Purpose:  A small, fast xoroshiro128++ generator. Seeds are
+ * 		spread over both words of state with splitmix64, so
+ * 		nearby seeds still give unrelated streams. Not thread
+ * 		safe; split() it to get one per thread.
+ **************/
+public class Xoroshiro128 implements RandomSource {
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+	
+	private long s0;
+	private long s1;
+	
+	public Xoroshiro128(long seed) {
+		s0 = mix(seed += GOLDEN_GAMMA);
+		s1 = mix(seed + GOLDEN_GAMMA);
+	}
+	
+	
+	public long nextLong() {
+		long result = Long.rotateLeft(s0 + s1, 17) + s0;
+		
+		s1 ^= s0;
+		s0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+		s1 = Long.rotateLeft(s1, 28);
+		
+		return result;
+	}
+	
+	
+	/**************
+	 * Purpose:  Return a number from 0 up to bound, without the
+	 * 		bias of a plain modulo. Works the same way as
+	 * 		java.util.Random, on the top 31 bits.
+	 **************/
+	@Override
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("The bound must be positive.");
+		}
+		
+		int bits = (int) (nextLong() >>> 33);
+		int value;
+		
+		if ((bound & (bound - 1)) == 0) {
+			// a power of two, so the top bits are already uniform
+			value = (int) ((bound * (long) bits) >> 31);
+		}
+		else {
+			value = bits % bound;
+			
+			// the sum overflows when bits falls in the last, partial run of bound numbers
+			while (bits - value + (bound - 1) < 0) {
+				bits = (int) (nextLong() >>> 33);
+				value = bits % bound;
+			}
+		}
+		
+		return value;
+	}
+	
+	
+	/**************
+	 * Purpose:  Seed a new generator from this one's next number.
+	 **************/
+	@Override
+	public Xoroshiro128 split() {
+		return new Xoroshiro128(nextLong());
+	}
+	
+	
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		
+		return z ^ (z >>> 31);
+	}
+}
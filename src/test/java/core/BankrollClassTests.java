@@ -0,0 +1,130 @@
+package core;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class BankrollClassTests extends TestCase {
+	
+	/**************
+	 * Purpose:  Wins pay even money, blackjacks pay 3:2, pushes
+	 * 		pay nothing and losses take the bet.
+	 **************/
+	@Test
+	public void testPayout() {
+		assertEquals(10.0, Bankroll.payout(Game.Outcome.won, false, 10));
+		assertEquals(15.0, Bankroll.payout(Game.Outcome.won, true, 10));
+		assertEquals(0.0, Bankroll.payout(Game.Outcome.push, false, 10));
+		assertEquals(-10.0, Bankroll.payout(Game.Outcome.lost, false, 10));
+	}
+	
+	
+	/**************
+	 * Purpose:  A tie is a push when the round is settled for a
+	 * 		bet, so the bet is given back.
+	 **************/
+	@Test
+	public void testTieIsPush() {
+		Deck deck = new ScriptDeck(ScriptReader.of("SK HQ CJ DQ"));
+		Player human = new Player(deck, new ConsoleIO(OutputSink.quiet()));
+		DealerPlayer dealer = new DealerPlayer(deck, new ConsoleIO(OutputSink.quiet()));
+		
+		assertEquals(Game.Outcome.push, Game.getOutcome(human, dealer));
+	}
+	
+	
+	/**************
+	 * Purpose:  The bankroll changes by exactly the amount paid on
+	 * 		every round, and stops once it is ruined.
+	 **************/
+	@Test
+	public void testPlay() {
+		Bankroll bankroll = new Bankroll(new Shoe(6, Shoe.DEFAULT_PENETRATION, RandomSource.seeded(1)),
+										 StrategyTable.compute(6), BetPolicy.unit(), 20);
+		boolean ruined = bankroll.play(100000);
+		
+		assertEquals(ruined, bankroll.isRuined());
+		assertEquals(bankroll.rounds, bankroll.wins + bankroll.losses + bankroll.pushes);
+		assertEquals((double) bankroll.rounds, bankroll.wagered);
+		assertEquals(20 + bankroll.wins - bankroll.losses + 0.5 * bankroll.blackjacks, bankroll.getBalance(), 1e-9);
+		assertTrue(bankroll.rounds < 100000 || !ruined);
+	}
+	
+	
+	/**************
+	 * Purpose:  The count policy bets more as the true count rises,
+	 * 		within its spread.
+	 **************/
+	@Test
+	public void testCountingPolicy() {
+		BetPolicy policy = BetPolicy.counting(2, 4);
+		
+		assertEquals(2.0, policy.getBet(trueCount(-3), 100));
+		assertEquals(2.0, policy.getBet(trueCount(1.5), 100));
+		assertEquals(4.0, policy.getBet(trueCount(3.2), 100));
+		assertEquals(8.0, policy.getBet(trueCount(9), 100));
+	}
+	
+	
+	/**************
+	 * Purpose:  The Kelly policy bets the minimum without an edge,
+	 * 		and a share of the bankroll with one.
+	 **************/
+	@Test
+	public void testKellyPolicy() {
+		BetPolicy policy = BetPolicy.kelly(1, 1);
+		
+		assertEquals(1.0, policy.getBet(trueCount(0), 1000));
+		assertEquals(1000 * 0.01 / 1.3, policy.getBet(trueCount(3), 1000), 1e-9);
+	}
+	
+	
+	/**************
+	 * Purpose:  A seeded run gives the same results however many
+	 * 		threads play it, and the statistics add up.
+	 **************/
+	@Test
+	public void testRunTrajectories() throws InterruptedException {
+		StrategyTable strategy = StrategyTable.compute(6);
+		Bankroll.Results one = Bankroll.runTrajectories(50, 200, 50, BetPolicy.unit(), 6, strategy, 1, RandomSource.seeded(7));
+		Bankroll.Results four = Bankroll.runTrajectories(50, 200, 50, BetPolicy.unit(), 6, strategy, 4, RandomSource.seeded(7));
+		
+		for (int i = 0; i < one.finals.length; i++) {
+			assertEquals(one.finals[i], four.finals[i]);
+		}
+		assertEquals(one.rounds, four.rounds);
+		assertEquals(one.getRiskOfRuin(), four.getRiskOfRuin());
+		assertTrue(one.getPercentile(5) <= one.getPercentile(50));
+		assertTrue(one.getPercentile(50) <= one.getPercentile(95));
+		assertTrue(one.getVariance() > 0);
+	}
+	
+	
+	private Deck trueCount(final double count) {
+		return new Deck() {
+			@Override
+			public double getTrueCount() {
+				return count;
+			}
+		};
+	}
+	
+	
+	/**************
+	 * Purpose:  The statistics of a known set of final bankrolls.
+	 **************/
+	@Test
+	public void testResults() {
+		Bankroll.Results results = new Bankroll.Results(10, 4);
+		results.finals[0] = 0;
+		results.finals[1] = 10;
+		results.finals[2] = 20;
+		results.finals[3] = 30;
+		results.ruined = 1;
+		
+		assertEquals(15.0, results.getMean());
+		assertEquals(500.0 / 3, results.getVariance(), 1e-9);
+		assertEquals(0.25, results.getRiskOfRuin());
+		assertEquals(10.0, results.getPercentile(50));
+		assertEquals(30.0, results.getPercentile(95));
+	}
+}
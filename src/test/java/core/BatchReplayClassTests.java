@@ -0,0 +1,83 @@
+package core;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class BatchReplayClassTests extends TestCase {
+	private static final String INPUT_FILES = "src/main/resources/input files";
+	
+	/**************
+	 * Purpose:  Every file in the directory is replayed, and the
+	 * 		bad files are reported with the reason.
+	 **************/
+	@Test
+	public void testReplayDirectory() throws IOException, InterruptedException {
+		List<String> files = BatchReplay.findFiles(INPUT_FILES);
+		BatchReplay batch = BatchReplay.run(files, 4);
+		
+		assertEquals(8, files.size());
+		assertEquals(8, batch.results.size());
+		assertEquals(4, batch.count(BatchReplay.Outcome.won));
+		assertEquals(0, batch.count(BatchReplay.Outcome.lost));
+		assertEquals(1, batch.count(BatchReplay.Outcome.push));
+		assertEquals(3, batch.count(BatchReplay.Outcome.error));
+		
+		assertTrue(batch.results.get(0).file.endsWith("file1.txt"));
+		assertEquals(BatchReplay.Outcome.push, batch.results.get(0).outcome);
+		assertTrue(batch.getReport().contains("Pushes: 1"));
+		assertEquals("not enough commands", batch.results.get(5).error);
+		assertEquals("duplicate cards", batch.results.get(6).error);
+		assertTrue(batch.getReport().contains("file7.txt: duplicate cards"));
+	}
+	
+	
+	/**************
+	 * Purpose:  A glob only picks the files it matches.
+	 **************/
+	@Test
+	public void testFindFilesWithGlob() throws IOException {
+		List<String> files = BatchReplay.findFiles(INPUT_FILES + "/file[1-3].txt");
+		
+		assertEquals(3, files.size());
+		assertTrue(files.get(2).endsWith("file3.txt"));
+		assertTrue(BatchReplay.findFiles(INPUT_FILES + "/*.csv").isEmpty());
+	}
+	
+	
+	/**************
+	 * Purpose:  Missing files, bad tokens and files that run out
+	 * 		of cards are errors instead of stopping the batch.
+	 **************/
+	@Test
+	public void testReplayErrors() throws IOException {
+		File file = File.createTempFile("game", ".txt");
+		
+		try {
+			write(file, "SK HQ X5 CA");
+			assertEquals("not a card or command", BatchReplay.replay(file.getPath()).error);
+			
+			write(file, "S5 H4 C3 D2 H");
+			assertEquals("not enough cards", BatchReplay.replay(file.getPath()).error);
+			
+			write(file, "SK HQ C8 D2 S H9");
+			assertEquals(BatchReplay.Outcome.won, BatchReplay.replay(file.getPath()).outcome);
+		} finally {
+			file.delete();
+		}
+		
+		assertEquals("could not read the file", BatchReplay.replay("not a file.txt").error);
+	}
+	
+	
+	private void write(File file, String text) throws IOException {
+		try (Writer writer = new FileWriter(file)) {
+			writer.write(text);
+		}
+	}
+}
@@ -12,4 +12,16 @@ public class CardClassTests extends TestCase{
 		card = new Card("C", "J", 10);
 		assertEquals("CJ", card.toString());
 	}
+	
+	@Test
+	public void testSharedCards() {
+		Card card = new Card("H", "10", 10);
+		
+		assertSame(Card.of(card.code), Card.of(Card.code("H", "10")));
+		assertEquals("H10", Card.of(card.code).toString());
+		assertEquals(10, Card.valueOf(card.code));
+		assertEquals(0, Card.of(Card.code("S", "A")).value);
+		assertEquals(-1, Card.code("X", "A"));
+		assertEquals(-1, Card.code("S", "11"));
+	}
 }
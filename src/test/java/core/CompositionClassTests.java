@@ -0,0 +1,79 @@
+package core;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class CompositionClassTests extends TestCase {
+	
+	/**************
+	 * Purpose:  Adding and removing cards changes one count and
+	 * 		the size, and leaves the original alone.
+	 **************/
+	@Test
+	public void testAddAndRemove() {
+		Composition shoe = Composition.decks(6);
+		Composition fewer = shoe.remove(Composition.TEN).remove(Composition.ACE);
+		
+		assertEquals(312, shoe.size());
+		assertEquals(96, shoe.count(Composition.TEN));
+		assertEquals(310, fewer.size());
+		assertEquals(95, fewer.count(Composition.TEN));
+		assertEquals(23, fewer.count(Composition.ACE));
+		assertEquals(shoe, fewer.add(Composition.ACE).add(Composition.TEN));
+		
+		try {
+			Composition.EMPTY.remove(3);
+			fail("An empty composition has nothing to remove");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		try {
+			Composition.decks(16);
+			fail("Sixteen decks don't fit");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Compositions with the same counts are equal and
+	 * 		work as keys, however they were made.
+	 **************/
+	@Test
+	public void testEqualsAndHashCode() {
+		Set<Composition> seen = new HashSet<Composition>();
+		Composition one = Composition.of(4, 4, 4, 4, 4, 4, 4, 4, 4, 16);
+		
+		seen.add(one);
+		assertTrue(seen.contains(Composition.decks(1)));
+		assertTrue(seen.contains(Composition.fromLong(one.toLong())));
+		assertFalse(seen.contains(one.remove(5)));
+		assertEquals(Composition.decks(1).hashCode(), one.hashCode());
+	}
+	
+	
+	/**************
+	 * Purpose:  Converting to and from a deck keeps the counts,
+	 * 		and follows cards as they are drawn.
+	 **************/
+	@Test
+	public void testDeckConversion() {
+		Deck deck = new Deck();
+		
+		assertEquals(Composition.decks(1), Composition.of(deck));
+		deck.draw();	// CA
+		deck.draw();	// C2
+		assertEquals(Composition.decks(1).remove(Composition.ACE).remove(1), Composition.of(deck));
+		
+		Deck converted = Composition.decks(2).toDeck();
+		assertEquals(104, converted.size());
+		assertEquals(Composition.decks(2), Composition.of(converted));
+		assertTrue(Composition.decks(1).toDeck().checkDuplicates());
+		
+		assertEquals(Composition.decks(6), Composition.of(new Shoe(6)));
+	}
+}
@@ -11,14 +11,16 @@ import java.util.List;
 
 
 public class ConsoleIOClassTests extends TestCase {
+	private ConsoleIO io = new ConsoleIO();
+	
 	@Before
 	public void init() {
-		ConsoleIO.init();
+		io.init();
 	}
 	
 	@After
 	public void close() {
-		ConsoleIO.close();
+		io.close();
 	}
 	
 	@Test
@@ -43,7 +45,7 @@ public class ConsoleIOClassTests extends TestCase {
 	
 	@Test
 	public void testReadInputFile() {
-		ConsoleIO.readInputFile("src/main/resources/input files/file1.txt");
+		Deck deck = io.readInputFile("src/main/resources/input files/file1.txt");
 		
 		List<String> expectedPlayerCommands = new ArrayList<String>();
 		List<Card> expectedCardList = new ArrayList<Card>();
@@ -52,10 +54,10 @@ public class ConsoleIOClassTests extends TestCase {
 		expectedCardList.add(new Card("H", "Q", 10));
 		expectedCardList.add(new Card("C", "A", 0));
 		
-		assertFalse(ConsoleIO.inputError);
-		assertEquals(expectedPlayerCommands, ConsoleIO.fileCommands);
-		for (int i = 0; i < Game.deck.cards.size(); i++) {
-			assertEquals(expectedCardList.get(i).toString(), Game.deck.cards.get(i).toString());
+		assertFalse(io.inputError);
+		assertEquals(expectedPlayerCommands, io.script.getCommands());
+		for (int i = 0; i < deck.size(); i++) {
+			assertEquals(expectedCardList.get(i).toString(), deck.get(i).toString());
 		}
 	}
 
@@ -0,0 +1,93 @@
+package core;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class DealerProbabilitiesClassTests extends TestCase {
+	
+	/**************
+	 * Purpose:  With only tens and one 7 left, a dealer showing
+	 * 		a ten either stays on 20 or on 17.
+	 **************/
+	@Test
+	public void testSmallComposition() {
+		DealerProbabilities probabilities = new DealerProbabilities();
+		int[] counts = new int[DealerProbabilities.RANKS];
+		counts[9] = 3;
+		counts[6] = 1;
+		
+		double[] outcomes = probabilities.get(new Card("S", "K", 10), counts);
+		
+		assertEquals(0.75, outcomes[DealerProbabilities.index(20)], 1e-12);
+		assertEquals(0.25, outcomes[DealerProbabilities.index(17)], 1e-12);
+		assertEquals(0.0, outcomes[DealerProbabilities.BUST], 1e-12);
+	}
+	
+	
+	/**************
+	 * Purpose:  An ace showing with only tens left is always a
+	 * 		blackjack, and the outcomes always add up to 1.
+	 **************/
+	@Test
+	public void testBlackjackAndTotals() {
+		DealerProbabilities probabilities = new DealerProbabilities();
+		int[] counts = new int[DealerProbabilities.RANKS];
+		counts[9] = 5;
+		
+		assertEquals(1.0, probabilities.get(new Card("H", "A", 0), counts)[DealerProbabilities.BLACKJACK], 1e-12);
+		
+		Deck deck = new Deck();
+		Card upcard = deck.draw();
+		double total = 0;
+		for (double p : probabilities.get(upcard, deck)) {
+			total += p;
+		}
+		assertEquals(1.0, total, 1e-9);
+	}
+	
+	
+	/**************
+	 * Purpose:  Compare the exact probabilities with the dealer
+	 * 		actually playing, for an upcard the dealer can split.
+	 **************/
+	@Test
+	public void testMatchesDealerPlay() {
+		final int trials = 200000;
+		Card upcard = new Card("S", "8", 8);
+		DealerProbabilities probabilities = new DealerProbabilities();
+		double[] seen = new double[DealerProbabilities.OUTCOMES];
+		
+		Deck full = new Deck();
+		full.clear();
+		for (int code = 0; code < Card.DECK_SIZE; code++) {
+			if (code != upcard.code) full.add(Card.of(code));
+		}
+		double[] expected = probabilities.get(upcard, full);
+		
+		for (int i = 0; i < trials; i++) {
+			full.reshuffle();
+			DealerPlayer dealer = new DealerPlayer(new Deck());
+			dealer.hand = new Hand();
+			dealer.hand.add(Card.of(upcard.code));
+			dealer.hand.add(full.draw());
+			dealer.currentHand = dealer.hand;
+			
+			if (dealer.getBestHandState() == Hand.HandState.blackjack) {
+				seen[DealerProbabilities.BLACKJACK]++;
+			}
+			else {
+				dealer.play(full, null);
+				if (dealer.getBestHandState() == Hand.HandState.busted) {
+					seen[DealerProbabilities.BUST]++;
+				}
+				else {
+					seen[DealerProbabilities.index(dealer.getBestHandScore())]++;
+				}
+			}
+		}
+		
+		for (int i = 0; i < DealerProbabilities.OUTCOMES; i++) {
+			assertEquals(expected[i], seen[i] / trials, 0.006);
+		}
+	}
+}
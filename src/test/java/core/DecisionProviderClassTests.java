@@ -0,0 +1,148 @@
+package core;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class DecisionProviderClassTests extends TestCase {
+	private static final Card SIX = new Card("S", "6", 6);
+	
+	/**************
+	 * Purpose:  A script gives its commands in order, skips a
+	 * 		split that isn't allowed, and has no decision once the
+	 * 		commands run out.
+	 **************/
+	@Test
+	public void testScript() {
+		DecisionProvider script = DecisionProvider.script(ScriptReader.of("SK H H5 D S D"));
+		Hand hand = new Hand();
+		
+		assertEquals(Player.Action.hit, script.decide(hand, SIX, false));
+		assertEquals(Player.Action.stay, script.decide(hand, SIX, false));
+		assertEquals(Player.Action.split, script.decide(hand, SIX, true));
+		assertNull(script.decide(hand, SIX, true));
+	}
+	
+	
+	/**************
+	 * Purpose:  A table bot makes the same decisions as looking
+	 * 		them up in the table.
+	 **************/
+	@Test
+	public void testTable() {
+		StrategyTable table = StrategyTable.compute(1);
+		DecisionProvider bot = DecisionProvider.table(table);
+		Hand hand = new Hand();
+		
+		hand.add(new Card("C", "8", 8));
+		hand.add(new Card("D", "8", 8));
+		
+		assertEquals(Player.Action.split, bot.decide(hand, SIX, true));
+		assertEquals(table.getAction(hand, SIX, false), bot.decide(hand, SIX, false));
+	}
+	
+	
+	/**************
+	 * Purpose:  A random bot picks every allowed action, and never
+	 * 		splits when it isn't allowed.
+	 **************/
+	@Test
+	public void testRandom() {
+		DecisionProvider bot = DecisionProvider.random(RandomSource.seeded(3));
+		int[] counts = new int[Player.Action.values().length];
+		Hand hand = new Hand();
+		
+		for (int i = 0; i < 300; i++) {
+			assertNotSame(Player.Action.split, bot.decide(hand, SIX, false));
+			counts[bot.decide(hand, SIX, true).ordinal()]++;
+		}
+		
+		for (int count : counts) {
+			assertTrue(count > 0);
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  A random bot can play whole turns as a human,
+	 * 		without asking for any input.
+	 **************/
+	@Test
+	public void testHumanWithRandomBot() {
+		ConsoleIO io = new ConsoleIO(OutputSink.quiet());
+		DecisionProvider bot = DecisionProvider.random(RandomSource.seeded(5));
+		
+		for (int i = 0; i < 200; i++) {
+			Deck deck = new Deck(RandomSource.seeded(i));
+			deck.shuffle();
+			HumanPlayer human = new HumanPlayer(deck, io);
+			
+			human.setDecisions(bot);
+			human.setDealerUpcard(SIX);
+			human.takeTurn(deck);
+			
+			assertTrue(human.currentHand == null || human.getBestHandState() == Hand.HandState.busted);
+		}
+		
+		assertFalse(io.inputError);
+	}
+	
+	
+	/**************
+	 * Purpose:  A provider that asks for a split the human can't
+	 * 		make ends the turn with a stay, the same as a bot,
+	 * 		instead of being asked again forever.
+	 **************/
+	@Test
+	public void testHumanSplitNotAllowed() {
+		Deck deck = new Deck(RandomSource.seeded(1));
+		HumanPlayer human = new HumanPlayer(deck, new ConsoleIO(OutputSink.quiet()));
+		
+		human.hand = new Hand();
+		human.hand.add(new Card("S", "K", 10));
+		human.hand.add(new Card("H", "5", 5));
+		human.currentHand = human.hand;
+		human.setDecisions(new DecisionProvider() {
+			@Override
+			public Player.Action decide(Hand hand, Card dealerUpcard, boolean canSplit) {
+				return Player.Action.split;
+			}
+		});
+		human.setDealerUpcard(SIX);
+		human.takeTurn(deck);
+		
+		assertNull(human.currentHand);
+		assertEquals(2, human.hand.cards.size());
+		assertFalse(human.split);
+	}
+	
+	
+	/**************
+	 * Purpose:  A game file with no commands can be played by a
+	 * 		bot, which doesn't touch the file's commands.
+	 **************/
+	@Test
+	public void testGameWithBot() throws IOException {
+		File file = File.createTempFile("game", ".txt");
+		
+		try {
+			Writer writer = new FileWriter(file);
+			writer.write("SK H5 C9 D7 S3 H2 C2");
+			writer.close();
+			
+			Game game = new Game(new ConsoleIO(OutputSink.quiet()), file.getPath());
+			game.setDecisions(DecisionProvider.table(StrategyTable.compute(1)));
+			game.play();
+			
+			assertFalse(game.io.inputError);
+			assertEquals(18, game.human.hand.getScore());
+			assertEquals(3, game.human.hand.cards.size());
+		} finally {
+			file.delete();
+		}
+	}
+}
@@ -13,7 +13,7 @@ public class DeckClassTests extends TestCase{
 	public void testCreateDeck() {
 		Deck deck = new Deck();
 		
-		assertEquals(52, deck.cards.size());
+		assertEquals(52, deck.size());
 	}
 	
 	
@@ -24,11 +24,38 @@ public class DeckClassTests extends TestCase{
 	@Test
 	public void testShuffleDeck() {
 		Deck deck = new Deck();
-		List<Card> initialCardList = new ArrayList<Card>(deck.cards);
+		List<Card> initialCardList = deck.getCards();
 		
 		deck.shuffle();
 		
-		assertNotSame(deck.cards, initialCardList);
+		assertNotSame(deck.getCards(), initialCardList);
+		assertFalse(initialCardList.equals(deck.getCards()));
+		assertEquals(52, deck.size());
+		assertTrue(deck.checkDuplicates());
+	}
+	
+	
+	/**************
+	 * Purpose:  Decks shuffled from the same seed come out in
+	 * 		the same order, and split streams shuffle differently.
+	 **************/
+	@Test
+	public void testSeededShuffle() {
+		Deck first = new Deck(RandomSource.seeded(3004));
+		Deck second = new Deck(RandomSource.seeded(3004));
+		
+		first.shuffle();
+		second.shuffle();
+		assertEquals(first.getCards(), second.getCards());
+		
+		RandomSource master = RandomSource.seeded(3004);
+		Deck third = new Deck(master.split());
+		Deck fourth = new Deck(master.split());
+		
+		third.shuffle();
+		fourth.shuffle();
+		assertFalse(third.getCards().equals(fourth.getCards()));
+		assertTrue(third.checkDuplicates());
 	}
 	
 	
@@ -39,23 +66,51 @@ public class DeckClassTests extends TestCase{
 	@Test
 	public void testCheckDuplicates() {
 		Deck deck = new Deck();
-		deck.cards = new ArrayList<Card>();
+		deck.clear();
 		
-		deck.cards.add(new Card("S", "K", 10));
-		deck.cards.add(new Card("H", "A", 0));
-		deck.cards.add(new Card("S", "K", 10));
-		deck.cards.add(new Card("C", "A", 0));
+		deck.add(new Card("S", "K", 10));
+		deck.add(new Card("H", "A", 0));
+		deck.add(new Card("S", "K", 10));
+		deck.add(new Card("C", "A", 0));
 		assertFalse(deck.checkDuplicates());
 		
-		deck.cards = new ArrayList<Card>();
-		deck.cards.add(new Card("S", "K", 10));
-		deck.cards.add(new Card("H", "A", 0));
-		deck.cards.add(new Card("D", "K", 10));
-		deck.cards.add(new Card("C", "A", 0));
+		deck.clear();
+		deck.add(new Card("S", "K", 10));
+		deck.add(new Card("H", "A", 0));
+		deck.add(new Card("D", "K", 10));
+		deck.add(new Card("C", "A", 0));
 		assertTrue(deck.checkDuplicates());
 	}
 	
 	
+	/**************
+	 * Purpose:  Drawing moves the top of the deck, and resetting
+	 * 		puts the drawn cards back in the same order.
+	 **************/
+	@Test
+	public void testDrawAndReset() {
+		Deck deck = new Deck();
+		deck.shuffle();
+		Card first = deck.get(0);
+		
+		assertSame(first, deck.draw());
+		assertEquals(51, deck.size());
+		
+		deck.reset();
+		assertEquals(52, deck.size());
+		assertSame(first, deck.draw());
+		
+		deck.clear();
+		assertEquals(0, deck.size());
+		try {
+			deck.draw();
+			fail("Drawing from an empty deck should throw");
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+	
+	
 	/**************
 	 * Purpose:  Check for duplicate cards in a deck after being 
 	 * 	  	created.
@@ -66,4 +121,38 @@ public class DeckClassTests extends TestCase{
 		
 		assertTrue(deck.checkDuplicates());
 	}
+	
+	
+	/**************
+	 * Purpose:  The Hi-Lo count and the cards left of each rank
+	 * 		follow every draw, and start over when the deck is
+	 * 		reset.
+	 **************/
+	@Test
+	public void testCounting() {
+		Deck deck = new Deck();
+		
+		assertEquals(4, deck.getRemaining(0));
+		deck.draw();	// CA
+		deck.draw();	// C2
+		deck.draw();	// C3
+		assertEquals(1, deck.getRunningCount());
+		assertEquals(3, deck.getRemaining(0));
+		assertEquals(1.0 * 52 / 49, deck.getTrueCount(), 1e-9);
+		
+		while (deck.size() > 0) {
+			deck.draw();
+		}
+		assertEquals(0, deck.getRunningCount());
+		assertEquals(0, deck.getRemaining(12));
+		
+		deck.reshuffle();
+		assertEquals(0, deck.getRunningCount());
+		assertEquals(4, deck.getRemaining(12));
+		
+		deck.add(new Card("S", "K", 10));
+		assertEquals(5, deck.getRemaining(12));
+		deck.clear();
+		assertEquals(0, deck.getRemaining(12));
+	}
 }
@@ -8,6 +8,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.is;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,152 +17,174 @@ import org.junit.After;
 import junit.framework.TestCase;
 
 public class GameClassTests extends TestCase {	
+	private Game game = new Game();
 	
 	@Before
 	public void init() {
-		ConsoleIO.init();
+		game.io.init();
 	}
 	
 	@After
 	public void close() {
-		ConsoleIO.close();
+		game.io.close();
 	}
 	
 	@Test
 	public void testSetGameState() {
-		Game.setGameState("Q");
-		assertEquals(Game.GameState.quit, Game.gameState);
+		game.setGameState("Q");
+		assertEquals(Game.GameState.quit, game.gameState);
 		
-		Game.setGameState("F");
-		assertEquals(Game.GameState.file, Game.gameState);
+		game.setGameState("F");
+		assertEquals(Game.GameState.file, game.gameState);
 		
-		Game.setGameState("C");
-		assertEquals(Game.GameState.console, Game.gameState);
+		game.setGameState("C");
+		assertEquals(Game.GameState.console, game.gameState);
 		
-		Game.setGameState("");
-		assertEquals(Game.GameState.invalid, Game.gameState);
+		game.setGameState("");
+		assertEquals(Game.GameState.invalid, game.gameState);
 		
-		Game.setGameState("1");
-		assertEquals(Game.GameState.invalid, Game.gameState);
+		game.setGameState("1");
+		assertEquals(Game.GameState.invalid, game.gameState);
 		
-		Game.setGameState("abc");
-		assertEquals(Game.GameState.invalid, Game.gameState);
+		game.setGameState("abc");
+		assertEquals(Game.GameState.invalid, game.gameState);
 	}
 	
 	@Test
 	public void testCheckBlackjack() {
 		Deck deck = new Deck();
-		Game.human = new HumanPlayer(deck);
-		Game.dealer = new DealerPlayer(deck);
+		game.human = new HumanPlayer(deck);
+		game.dealer = new DealerPlayer(deck);
 		
 		// neither have a blackjack
-		Game.human.hand = new Hand();
-		Game.human.hand.add(new Card("H", "9", 9));
-		Game.human.hand.add(new Card("H", "5", 5));
-		Game.dealer.hand = new Hand();
-		Game.dealer.hand.add(new Card("H", "6", 6));
-		Game.dealer.hand.add(new Card("S", "8", 8));
-		assertEquals(false, Game.checkInitialBlackjack());
+		game.human.hand = new Hand();
+		game.human.hand.add(new Card("H", "9", 9));
+		game.human.hand.add(new Card("H", "5", 5));
+		game.dealer.hand = new Hand();
+		game.dealer.hand.add(new Card("H", "6", 6));
+		game.dealer.hand.add(new Card("S", "8", 8));
+		assertEquals(false, game.checkInitialBlackjack());
 		
 		
 		// human has a blackjack
-		Game.human.hand = new Hand();
-		Game.human.hand.add(new Card("H", "K", 10));
-		Game.human.hand.add(new Card("H", "A", 0));
-		Game.dealer.hand = new Hand();
-		Game.dealer.hand.add(new Card("H", "6", 6));
-		Game.dealer.hand.add(new Card("S", "8", 8));
-		assertEquals(true, Game.checkInitialBlackjack());
+		game.human.hand = new Hand();
+		game.human.hand.add(new Card("H", "K", 10));
+		game.human.hand.add(new Card("H", "A", 0));
+		game.dealer.hand = new Hand();
+		game.dealer.hand.add(new Card("H", "6", 6));
+		game.dealer.hand.add(new Card("S", "8", 8));
+		assertEquals(true, game.checkInitialBlackjack());
 		
 		// dealer has a blackjack
-		Game.human.hand = new Hand();
-		Game.human.hand.add(new Card("H", "9", 9));
-		Game.human.hand.add(new Card("H", "5", 5));
-		Game.dealer.hand = new Hand();
-		Game.dealer.hand.add(new Card("H", "A", 0));
-		Game.dealer.hand.add(new Card("S", "10", 10));
-		assertEquals(true, Game.checkInitialBlackjack());
+		game.human.hand = new Hand();
+		game.human.hand.add(new Card("H", "9", 9));
+		game.human.hand.add(new Card("H", "5", 5));
+		game.dealer.hand = new Hand();
+		game.dealer.hand.add(new Card("H", "A", 0));
+		game.dealer.hand.add(new Card("S", "10", 10));
+		assertEquals(true, game.checkInitialBlackjack());
 		
 		// both have blackjack
-		Game.human.hand = new Hand();
-		Game.human.hand.add(new Card("H", "A", 0));
-		Game.human.hand.add(new Card("H", "10", 10));
-		Game.dealer.hand = new Hand();
-		Game.dealer.hand.add(new Card("H", "J", 10));
-		Game.dealer.hand.add(new Card("S", "A", 0));
-		assertEquals(true, Game.checkInitialBlackjack());
+		game.human.hand = new Hand();
+		game.human.hand.add(new Card("H", "A", 0));
+		game.human.hand.add(new Card("H", "10", 10));
+		game.dealer.hand = new Hand();
+		game.dealer.hand.add(new Card("H", "J", 10));
+		game.dealer.hand.add(new Card("S", "A", 0));
+		assertEquals(true, game.checkInitialBlackjack());
 	}
 	
 	
 	@Test
 	public void testWinner() {
 		Deck deck = new Deck();
-		Game.human = new HumanPlayer(deck);
-		Game.dealer = new DealerPlayer(deck);
+		game.human = new HumanPlayer(deck);
+		game.dealer = new DealerPlayer(deck);
 		
 		// both are safe, human.getScore() > dealer.getScore()
-		Game.human.hand = new Hand();
-		Game.human.hand.add(new Card("H", "9", 9));
-		Game.human.hand.add(new Card("H", "5", 5));
-		Game.dealer.hand = new Hand();
-		Game.dealer.hand.add(new Card("H", "6", 6));
-		Game.dealer.hand.add(new Card("S", "6", 6));
-		assertEquals(true, Game.getWinner());
-		
-		// both are safe, human.getScore() = dealer.getScore()
-		Game.human.hand = new Hand();
-		Game.human.hand.add(new Card("H", "9", 9));
-		Game.human.hand.add(new Card("H", "5", 5));
-		Game.dealer.hand = new Hand();
-		Game.dealer.hand.add(new Card("H", "7", 7));
-		Game.dealer.hand.add(new Card("S", "7", 7));
-		assertEquals(false, Game.getWinner());
+		game.human.hand = new Hand();
+		game.human.hand.add(new Card("H", "9", 9));
+		game.human.hand.add(new Card("H", "5", 5));
+		game.dealer.hand = new Hand();
+		game.dealer.hand.add(new Card("H", "6", 6));
+		game.dealer.hand.add(new Card("S", "6", 6));
+		assertEquals(Game.Outcome.won, game.getWinner());
+		
+		// both are safe, human.getScore() = dealer.getScore(), which is a push
+		game.human.hand = new Hand();
+		game.human.hand.add(new Card("H", "9", 9));
+		game.human.hand.add(new Card("H", "5", 5));
+		game.dealer.hand = new Hand();
+		game.dealer.hand.add(new Card("H", "7", 7));
+		game.dealer.hand.add(new Card("S", "7", 7));
+		assertEquals(Game.Outcome.push, game.getWinner());
 		
 		// both are safe, human.getScore() < dealer.getScore()
-		Game.human.hand = new Hand();
-		Game.human.hand.add(new Card("H", "9", 9));
-		Game.human.hand.add(new Card("H", "5", 5));
-		Game.dealer.hand = new Hand();
-		Game.dealer.hand.add(new Card("H", "9", 9));
-		Game.dealer.hand.add(new Card("S", "7", 7));
-		assertEquals(false, Game.getWinner());
+		game.human.hand = new Hand();
+		game.human.hand.add(new Card("H", "9", 9));
+		game.human.hand.add(new Card("H", "5", 5));
+		game.dealer.hand = new Hand();
+		game.dealer.hand.add(new Card("H", "9", 9));
+		game.dealer.hand.add(new Card("S", "7", 7));
+		assertEquals(Game.Outcome.lost, game.getWinner());
 		
 		// human has an initial blackjack
-		Game.human.hand = new Hand();
-		Game.human.hand.add(new Card("H", "K", 10));
-		Game.human.hand.add(new Card("H", "A", 0));
-		Game.dealer.hand = new Hand();
-		Game.dealer.hand.add(new Card("H", "6", 6));
-		Game.dealer.hand.add(new Card("S", "8", 8));
-		assertEquals(true, Game.getWinner());
+		game.human.hand = new Hand();
+		game.human.hand.add(new Card("H", "K", 10));
+		game.human.hand.add(new Card("H", "A", 0));
+		game.dealer.hand = new Hand();
+		game.dealer.hand.add(new Card("H", "6", 6));
+		game.dealer.hand.add(new Card("S", "8", 8));
+		assertEquals(Game.Outcome.won, game.getWinner());
 		
 		// dealer has an initial blackjack
-		Game.human.hand = new Hand();
-		Game.human.hand.add(new Card("H", "9", 9));
-		Game.human.hand.add(new Card("H", "5", 5));
-		Game.dealer.hand = new Hand();
-		Game.dealer.hand.add(new Card("H", "A", 0));
-		Game.dealer.hand.add(new Card("S", "10", 10));
-		assertEquals(false, Game.getWinner());
+		game.human.hand = new Hand();
+		game.human.hand.add(new Card("H", "9", 9));
+		game.human.hand.add(new Card("H", "5", 5));
+		game.dealer.hand = new Hand();
+		game.dealer.hand.add(new Card("H", "A", 0));
+		game.dealer.hand.add(new Card("S", "10", 10));
+		assertEquals(Game.Outcome.lost, game.getWinner());
 		
 		// both have an initial blackjack
-		Game.human.hand = new Hand();
-		Game.human.hand.add(new Card("H", "A", 0));
-		Game.human.hand.add(new Card("H", "10", 10));
-		Game.dealer.hand = new Hand();
-		Game.dealer.hand.add(new Card("H", "J", 10));
-		Game.dealer.hand.add(new Card("S", "A", 0));
-		assertEquals(false, Game.getWinner());
+		game.human.hand = new Hand();
+		game.human.hand.add(new Card("H", "A", 0));
+		game.human.hand.add(new Card("H", "10", 10));
+		game.dealer.hand = new Hand();
+		game.dealer.hand.add(new Card("H", "J", 10));
+		game.dealer.hand.add(new Card("S", "A", 0));
+		assertEquals(Game.Outcome.push, game.getWinner());
+		
+		// both have an initial blackjack, and the dealer wins ties
+		game.dealer.setRules(Rules.parse("blackjackTie=dealer"));
+		assertEquals(Game.Outcome.lost, game.getWinner());
+		game.dealer.setRules(Rules.DEFAULT);
 		
 		// dealer is safe, human busted
-		Game.human.hand = new Hand();
-		Game.human.hand.add(new Card("H", "K", 10));
-		Game.human.hand.add(new Card("H", "10", 10));
-		Game.human.hand.add(new Card("D", "8", 8));
-		Game.dealer.hand = new Hand();
-		Game.dealer.hand.add(new Card("H", "J", 10));
-		Game.dealer.hand.add(new Card("S", "5", 5));
-		assertEquals(false, Game.getWinner());
+		game.human.hand = new Hand();
+		game.human.hand.add(new Card("H", "K", 10));
+		game.human.hand.add(new Card("H", "10", 10));
+		game.human.hand.add(new Card("D", "8", 8));
+		game.dealer.hand = new Hand();
+		game.dealer.hand.add(new Card("H", "J", 10));
+		game.dealer.hand.add(new Card("S", "5", 5));
+		assertEquals(Game.Outcome.lost, game.getWinner());
+	}
+	
+	
+	/***********************
+	 * Purpose: two initial blackjacks are shown as a push.
+	 ***********************/
+	@Test
+	public void testShowPush() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ConsoleIO io = new ConsoleIO(new ByteArrayInputStream(new byte[0]), out);
+		Game table = new Game(io, "src/main/resources/input files/file1.txt");
+		
+		table.play();
+		
+		assertTrue(out.toString().contains("You and the dealer both got an initial blackjack! It's a push!"));
+		assertFalse(out.toString().contains("You lost!"));
 	}
 	
 	
@@ -170,9 +194,9 @@ public class GameClassTests extends TestCase {
 	 ***********************/
 	@Test
 	public void testSetUp() {	
-		Game.gameState = Game.GameState.file;
-		Game.setUp();
-		assertFalse(ConsoleIO.inputError);
+		game.gameState = Game.GameState.file;
+		game.setUp();
+		assertFalse(game.io.inputError);
 		List<String> expectedPlayerCommands = new ArrayList<String>();
 		List<Card> expectedCardList = new ArrayList<Card>();
 		expectedCardList.add(new Card("S", "K", 10));
@@ -180,16 +204,35 @@ public class GameClassTests extends TestCase {
 		expectedCardList.add(new Card("H", "Q", 10));
 		expectedCardList.add(new Card("C", "A", 0));
 		
-		assertEquals(expectedPlayerCommands, ConsoleIO.fileCommands);
-		for (int i = 0; i < Game.deck.cards.size(); i++) {
-			assertEquals(expectedCardList.get(i).toString(), Game.deck.cards.get(i).toString());
+		assertEquals(expectedPlayerCommands, game.io.script.getCommands());
+		for (int i = 0; i < game.deck.size(); i++) {
+			assertEquals(expectedCardList.get(i).toString(), game.deck.get(i).toString());
 		}
 		
-		Game.gameState = Game.GameState.console;
-		Game.setUp();
-		assertNotNull(Game.deck);
-		assertNotNull(Game.human);
-		assertNotNull(Game.dealer);
+		game.gameState = Game.GameState.console;
+		game.setUp();
+		assertNotNull(game.deck);
+		assertNotNull(game.human);
+		assertNotNull(game.dealer);
+	}
+	
+	/***********************
+	 * Purpose: an input error at one table does not affect another.
+	 ***********************/
+	@Test
+	public void testTablesAreIndependent() {
+		Game first = new Game();
+		Game second = new Game();
+		
+		first.io.readInputFile("not a file.txt");
+		second.gameState = Game.GameState.file;
+		second.setUp();
+		
+		assertTrue(first.io.inputError);
+		assertFalse(second.io.inputError);
+		assertNull(first.human);
+		assertNotNull(second.human);
+		assertSame(second.human, second.dealer.opponent);
 	}
 	
 	/***********************
@@ -198,17 +241,20 @@ public class GameClassTests extends TestCase {
 	@Test
 	public void testTakePlayerTurns() {
 		Deck deck = new Deck();
-		Game.human = new HumanPlayer(deck);
-		Game.dealer = new DealerPlayer(deck);
+		game.deck = deck;
+		game.human = new HumanPlayer(deck, game.io);
+		game.dealer = new DealerPlayer(deck, game.io);
+		game.dealer.opponent = game.human;
+		game.io.script = ScriptReader.of("S");
 		
-		Game.takePlayerTurns();
+		game.takePlayerTurns();
 		
-		assertFalse(ConsoleIO.inputError);
-		if (Game.human.getBestHandState() == Hand.HandState.busted) {
-			assertNotSame(Hand.HandState.busted, Game.dealer.getBestHandState());
+		assertFalse(game.io.inputError);
+		if (game.human.getBestHandState() == Hand.HandState.busted) {
+			assertNotSame(Hand.HandState.busted, game.dealer.getBestHandState());
 		}
 		else {
-			assertThat(Game.human.getBestHandState(), anyOf(is(Hand.HandState.blackjack), is(Hand.HandState.safe)));
+			assertThat(game.human.getBestHandState(), anyOf(is(Hand.HandState.blackjack), is(Hand.HandState.safe)));
 		}
 	}
 }
@@ -109,6 +109,49 @@ public class HandClassTests extends TestCase{
 	}
 	
 	
+	/*************************
+	 * Purpose: An ace only makes the hand soft while it can
+	 * 		still count as 11, and removing a card keeps the
+	 * 		score correct.
+	 *************************/
+	@Test
+	public void testAceWorth11() {
+		Hand hand = new Hand();
+		hand.add(new Card("S", "A", 0));
+		hand.add(new Card("S", "6", 6));
+		assertTrue(hand.getAceWorth11());
+		assertEquals(17, hand.getScore());
+		
+		hand.add(new Card("H", "K", 10));
+		assertFalse(hand.getAceWorth11());
+		assertEquals(17, hand.getScore());
+		
+		hand.add(new Card("D", "A", 0));
+		assertEquals(18, hand.getScore());
+		assertEquals(Hand.HandState.safe, hand.getState());
+		
+		hand.remove(2);
+		assertTrue(hand.getAceWorth11());
+		assertEquals(18, hand.getScore());
+		assertEquals(3, hand.cards.size());
+	}
+	
+	/*************************
+	 * Purpose: Two cards worth 21 are only a blackjack if the
+	 * 		hand hasn't hit.
+	 *************************/
+	@Test
+	public void testBlackjackAfterHit() {
+		Deck deck = new Deck();
+		Hand hand = new Hand();
+		hand.add(new Card("S", "K", 10));
+		hand.hit(deck);
+		
+		// a new deck starts with the ace of clubs
+		assertEquals(21, hand.getScore());
+		assertEquals(Hand.HandState.safe, hand.getState());
+	}
+	
 	@Test
 	public void testCanSplit() {
 		Hand hand = new Hand();
@@ -122,4 +165,21 @@ public class HandClassTests extends TestCase{
 		assertEquals(true, hand.canSplit());
 	}
 	
+	@Test
+	public void testReset() {
+		Hand hand = new Hand();
+		hand.add(new Card("S", "A", 0));
+		hand.hit(new Deck());
+		hand.reset();
+		
+		assertEquals("Empty", hand.getCards());
+		assertEquals(0, hand.getScore());
+		assertEquals(false, hand.getAceWorth11());
+		
+		// the hand can be a blackjack again once it is reset
+		hand.add(new Card("S", "A", 0));
+		hand.add(new Card("S", "K", 10));
+		assertEquals(Hand.HandState.blackjack, hand.getState());
+	}
+	
 }
@@ -0,0 +1,103 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class HandEvaluatorClassTests extends TestCase {
+	
+	/**************
+	 * Purpose:  The scalar evaluator agrees with Hand on every
+	 * 		hand dealt from a few shuffled shoes.
+	 **************/
+	@Test
+	public void testScalarMatchesHand() {
+		assertMatchesHand(HandEvaluator.scalar());
+	}
+	
+	
+	/**************
+	 * Purpose:  So does the best evaluator, which is the vector
+	 * 		one when the project is built and run with the vector
+	 * 		profile.
+	 **************/
+	@Test
+	public void testBestMatchesHand() {
+		assertMatchesHand(HandEvaluator.best());
+	}
+	
+	
+	/**************
+	 * Purpose:  Only part of the arrays is evaluated, including
+	 * 		ranges that don't fill a whole vector.
+	 **************/
+	@Test
+	public void testRange() {
+		int[] hardTotal = new int[37];
+		int[] aces = new int[37];
+		int[] score = new int[37];
+		int[] state = new int[37];
+		boolean[] soft = new boolean[37];
+		
+		for (int h = 0; h < hardTotal.length; h++) {
+			hardTotal[h] = 11;
+			aces[h] = 1;
+			score[h] = -1;
+		}
+		
+		HandEvaluator.best().evaluate(hardTotal, aces, new boolean[37], score, soft, state, 3, 34);
+		
+		for (int h = 0; h < hardTotal.length; h++) {
+			boolean inside = h >= 3 && h < 34;
+			
+			assertEquals(inside ? 21 : -1, score[h]);
+			assertEquals(inside, soft[h]);
+			assertEquals(inside ? HandEvaluator.BLACKJACK : 0, state[h]);
+		}
+	}
+	
+	
+	private void assertMatchesHand(HandEvaluator evaluator) {
+		List<Hand> hands = new ArrayList<Hand>();
+		Shoe shoe = new Shoe(6, Shoe.DEFAULT_PENETRATION, RandomSource.seeded(11));
+		
+		for (int i = 0; i < 5000; i++) {
+			Hand hand = new Hand();
+			int cards = 2 + i % 5;
+			
+			shoe.startRound();
+			hand.add(shoe.draw());
+			hand.add(shoe.draw());
+			for (int c = 2; c < cards && hand.getScore() < 21; c++) {
+				hand.hit(shoe);
+			}
+			hands.add(hand);
+		}
+		
+		int n = hands.size();
+		int[] hardTotal = new int[n];
+		int[] aces = new int[n];
+		boolean[] alreadyHit = new boolean[n];
+		int[] score = new int[n];
+		boolean[] soft = new boolean[n];
+		int[] state = new int[n];
+		
+		for (int h = 0; h < n; h++) {
+			for (Card card : hands.get(h).cards) {
+				hardTotal[h] += card.value == 0 ? 1 : card.value;
+				aces[h] += card.value == 0 ? 1 : 0;
+			}
+			alreadyHit[h] = hands.get(h).cards.size() > 2;
+		}
+		
+		evaluator.evaluate(hardTotal, aces, alreadyHit, score, soft, state, 0, n);
+		
+		for (int h = 0; h < n; h++) {
+			assertEquals(hands.get(h).getScore(), score[h]);
+			assertEquals(hands.get(h).getAceWorth11(), soft[h]);
+			assertEquals(hands.get(h).getState(), Hand.HandState.values()[state[h]]);
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package core;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class MetricsClassTests extends TestCase {
+	
+	/**************
+	 * Purpose:  Every bucket starts where the one before it ends,
+	 * 		and percentiles are within one bucket of the real value.
+	 **************/
+	@Test
+	public void testHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram("test");
+		
+		for (int bucket = 0; bucket < 400; bucket++) {
+			assertEquals(bucket, LatencyHistogram.bucket(LatencyHistogram.lowestIn(bucket)));
+			assertEquals(bucket, LatencyHistogram.bucket(LatencyHistogram.lowestIn(bucket + 1) - 1));
+		}
+		
+		for (int nanos = 1; nanos <= 100000; nanos++) {
+			histogram.record(nanos);
+		}
+		
+		assertEquals(100000, histogram.getCount());
+		assertEquals(100.0, histogram.getMaxMicros());
+		assertEquals(50.0, histogram.getP50Micros(), 50.0 * 0.125);
+		assertEquals(99.0, histogram.getP99Micros(), 99.0 * 0.125);
+		assertEquals(50.0005, histogram.getMeanMicros(), 0.0001);
+		
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0.0, histogram.getP99Micros());
+	}
+	
+	
+	/**************
+	 * Purpose:  Times recorded on many threads land in different
+	 * 		stripes, but are all counted when the histogram is read.
+	 **************/
+	@Test
+	public void testRecordFromManyThreads() throws InterruptedException {
+		final LatencyHistogram histogram = new LatencyHistogram("test");
+		Thread[] threads = new Thread[8];
+		
+		for (int t = 0; t < threads.length; t++) {
+			final long nanos = 1000 * (t + 1);
+			
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 10000; i++) {
+						histogram.record(nanos);
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		
+		assertEquals(80000, histogram.getCount());
+		assertEquals(10000L * 1000 * 36, histogram.getTotalNanos());
+		assertEquals(8.0, histogram.getMaxMicros());
+		assertEquals(4.5, histogram.getMeanMicros(), 1e-9);
+	}
+	
+	
+	/**************
+	 * Purpose:  Recording a time doesn't create any objects.
+	 **************/
+	@Test
+	public void testRecordDoesNotAllocate() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long id = Thread.currentThread().getId();
+		
+		// warm up so the JIT has compiled the recording path
+		for (int i = 0; i < 200000; i++) {
+			Metrics.record(Metrics.Phase.getWinner, Metrics.start());
+		}
+		
+		long before = threads.getThreadAllocatedBytes(id);
+		for (int i = 0; i < 200000; i++) {
+			Metrics.record(Metrics.Phase.getWinner, Metrics.start());
+		}
+		long allocated = threads.getThreadAllocatedBytes(id) - before;
+		
+		assertTrue("allocated " + allocated + " bytes", allocated < 1024);
+	}
+	
+	
+	/**************
+	 * Purpose:  Playing a game is counted by phase, and the counts
+	 * 		can be read through JMX.
+	 **************/
+	@Test
+	public void testGamePhases() throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		long setUps = Metrics.get(Metrics.Phase.setUp).getCount();
+		long dealerTurns = Metrics.get(Metrics.Phase.dealerTurn).getCount();
+		long winners = Metrics.get(Metrics.Phase.getWinner).getCount();
+		
+		Metrics.registerMBeans();
+		Metrics.registerMBeans();
+		new Game(new ConsoleIO(OutputSink.quiet()), "src/main/resources/input files/file3.txt").play();
+		
+		assertEquals(setUps + 1, Metrics.get(Metrics.Phase.setUp).getCount());
+		assertEquals(dealerTurns + 1, Metrics.get(Metrics.Phase.dealerTurn).getCount());
+		assertEquals(winners + 1, Metrics.get(Metrics.Phase.getWinner).getCount());
+		assertEquals(setUps + 1, server.getAttribute(new ObjectName("core:type=Metrics,phase=setUp"), "Count"));
+		assertTrue(Metrics.getReport().contains("readInputFile"));
+		
+		// replaying a game settles it once too
+		BatchReplay.replay("src/main/resources/input files/file3.txt");
+		assertEquals(winners + 2, Metrics.get(Metrics.Phase.getWinner).getCount());
+	}
+}
@@ -0,0 +1,214 @@
+package core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class OutputSinkClassTests extends TestCase {
+	private static final String NEWLINE = System.lineSeparator();
+	
+	/**************
+	 * Purpose:  A stream sink holds a line back until it is
+	 * 		finished, then writes it all at once.
+	 **************/
+	@Test
+	public void testStreamSink() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ConsoleIO io = new ConsoleIO(OutputSink.stream(out));
+		
+		io.output("You hit", ": ", "SK");
+		assertEquals("", out.toString());
+		
+		io.outputln(" Current score: 20");
+		assertEquals("You hit: SK Current score: 20" + NEWLINE, out.toString());
+		
+		io.output("Done");
+		io.close();
+		assertEquals("You hit: SK Current score: 20" + NEWLINE + "Done", out.toString());
+	}
+	
+	
+	/**************
+	 * Purpose:  A file sink writes everything to the file once
+	 * 		it is closed.
+	 **************/
+	@Test
+	public void testFileSink() throws IOException {
+		File file = File.createTempFile("output", ".txt");
+		
+		try {
+			OutputSink sink = OutputSink.file(file.getPath());
+			
+			for (int i = 0; i < 1000; i++) {
+				sink.write("line " + i + NEWLINE);
+			}
+			sink.close();
+			
+			assertEquals(1000, Files.readAllLines(file.toPath()).size());
+			assertEquals("line 999", Files.readAllLines(file.toPath()).get(999));
+		} finally {
+			file.delete();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  When the sink behind an async sink fails, writing
+	 * 		doesn't hang on the full queue, and the failure is thrown
+	 * 		from then on.
+	 **************/
+	@Test
+	public void testAsyncSinkFailure() {
+		final IOException broken = new IOException("broken pipe");
+		AsyncSink sink = new AsyncSink(new OutputSink() {
+			@Override
+			public void write(String text) {
+				throw new UncheckedIOException(broken);
+			}
+			
+			@Override
+			public void flush() {
+			}
+			
+			@Override
+			public void close() {
+			}
+		}, 4);
+		int written = 0;
+		
+		try {
+			while (written < 100000) {
+				sink.write("x");
+				written++;
+			}
+			fail();
+		} catch (IllegalStateException e) {
+			assertSame(broken, e.getCause().getCause());
+		}
+		
+		try {
+			sink.flush();
+			fail();
+		} catch (IllegalStateException e) {
+			assertTrue(e.getCause() instanceof UncheckedIOException);
+		}
+		
+		try {
+			sink.close();
+			fail();
+		} catch (IllegalStateException e) {
+			assertTrue(e.getCause() instanceof UncheckedIOException);
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  A writer that is interrupted while the queue is
+	 * 		full still gets all of its output through, and keeps
+	 * 		its interrupt.
+	 **************/
+	@Test
+	public void testAsyncSinkInterrupted() {
+		final StringBuilder written = new StringBuilder();
+		AsyncSink sink = new AsyncSink(new OutputSink() {
+			@Override
+			public void write(String text) {
+				try {
+					Thread.sleep(2);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				written.append(text);
+			}
+			
+			@Override
+			public void flush() {
+			}
+			
+			@Override
+			public void close() {
+			}
+		}, 2);
+		StringBuilder expected = new StringBuilder();
+		
+		Thread.currentThread().interrupt();
+		for (int i = 0; i < 20; i++) {
+			sink.write(Integer.toString(i));
+			expected.append(i);
+		}
+		
+		assertTrue(Thread.interrupted());
+		sink.close();
+		assertEquals(expected.toString(), written.toString());
+	}
+	
+	
+	/**************
+	 * Purpose:  Nothing can be written to an async sink once it
+	 * 		has been closed, and closing it again does nothing.
+	 **************/
+	@Test
+	public void testAsyncSinkClosed() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OutputSink sink = OutputSink.async(new BufferedSink(out, true, false));
+		
+		sink.write("done");
+		sink.close();
+		sink.close();
+		assertEquals("done", out.toString());
+		
+		try {
+			sink.write("more");
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("The sink is closed.", e.getMessage());
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  An async sink keeps the order of the output, and
+	 * 		flushing waits until all of it has been written.
+	 **************/
+	@Test
+	public void testAsyncSink() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OutputSink sink = OutputSink.async(new BufferedSink(out, true, false));
+		StringBuilder expected = new StringBuilder();
+		
+		for (int i = 0; i < 5000; i++) {
+			sink.write(i + ",");
+			expected.append(i).append(',');
+		}
+		sink.flush();
+		assertEquals(expected.toString(), out.toString());
+		
+		sink.write("end");
+		sink.close();
+		assertEquals(expected + "end", out.toString());
+		assertFalse(sink.isQuiet());
+	}
+	
+	
+	/**************
+	 * Purpose:  A quiet table still plays the whole game, without
+	 * 		showing anything.
+	 **************/
+	@Test
+	public void testQuietGame() {
+		ConsoleIO io = new ConsoleIO(OutputSink.async(OutputSink.quiet()));
+		Game game = new Game(io, "src/main/resources/input files/file3.txt");
+		
+		assertTrue(io.isQuiet());
+		game.play();
+		
+		assertFalse(io.inputError);
+		assertEquals(Game.Outcome.won, game.getWinner());
+		assertEquals(Hand.HandState.safe, game.human.getBestHandState());
+	}
+}
@@ -12,15 +12,16 @@ import org.junit.After;
 
 
 public class PlayerClassTests extends TestCase {
+	private ConsoleIO io = new ConsoleIO();
 	
 	@Before
 	public void init() {
-		ConsoleIO.init();
+		io.init();
 	}
 	
 	@After
 	public void close() {
-		ConsoleIO.close();
+		io.close();
 	}
 	
 	/**************
@@ -239,7 +240,7 @@ public class PlayerClassTests extends TestCase {
 	public void testDealerPlayerHit() {
 		Deck deck = new Deck();
 		DealerPlayer dealer = new DealerPlayer(deck);
-		Game.human = new HumanPlayer(deck);
+		dealer.opponent = new HumanPlayer(deck);
 		
 		// if dealer.getHandScore() <= 16, hit
 		dealer.hand = new Hand();
@@ -273,28 +274,28 @@ public class PlayerClassTests extends TestCase {
 	public void testDealerPlayerTurn() {
 		Deck deck = new Deck();
 		deck.shuffle();
-		DealerPlayer dealer = new DealerPlayer(deck);
-		Game.human = new HumanPlayer(deck);
+		DealerPlayer dealer = new DealerPlayer(deck, io);
+		dealer.opponent = new HumanPlayer(deck, io);
 		
-		ConsoleIO.outputln(System.lineSeparator());
-		ConsoleIO.outputln("Full hand for dealer player turn test: " + dealer.getHand(true));
+		io.outputln(System.lineSeparator());
+		io.outputln("Full hand for dealer player turn test: " + dealer.getHand(true));
 		dealer.takeTurn(deck);
 		assertThat(dealer.getBestHandState(), anyOf(is(Hand.HandState.blackjack), is(Hand.HandState.safe), is(Hand.HandState.busted)));
 		
 		
 		// dealer's hand adds to 17 or less, so split
 		deck = new Deck();
-		deck.cards = new ArrayList<Card>();
-		deck.cards.add(new Card("C", "8", 8)); // dealer's first card
-		deck.cards.add(new Card("D", "8", 8)); // dealer's second card
-		dealer = new DealerPlayer(deck);
-		deck.cards.add(new Card("H", "10", 10)); // human's first card
-		deck.cards.add(new Card("D", "7", 7));   // human's second card
-		Game.human = new HumanPlayer(deck);
-		deck.cards.add(new Card("C", "5", 5));   // automatically added to dealer's first hand. Dealer should hit first hand
-		deck.cards.add(new Card("H", "5", 5));   // automatically added to dealer's split hand. Dealer should hit split hand
-		deck.cards.add(new Card("C", "10", 10)); // added to dealer's first hand on hit. Dealer busts first hand (with a 23)
-		deck.cards.add(new Card("H", "7", 7));   // added to dealer's split hand on hit. Dealer should stay split hand (with a 20)
+		deck.clear();
+		deck.add(new Card("C", "8", 8)); // dealer's first card
+		deck.add(new Card("D", "8", 8)); // dealer's second card
+		dealer = new DealerPlayer(deck, io);
+		deck.add(new Card("H", "10", 10)); // human's first card
+		deck.add(new Card("D", "7", 7));   // human's second card
+		dealer.opponent = new HumanPlayer(deck, io);
+		deck.add(new Card("C", "5", 5));   // automatically added to dealer's first hand. Dealer should hit first hand
+		deck.add(new Card("H", "5", 5));   // automatically added to dealer's split hand. Dealer should hit split hand
+		deck.add(new Card("C", "10", 10)); // added to dealer's first hand on hit. Dealer busts first hand (with a 23)
+		deck.add(new Card("H", "7", 7));   // added to dealer's split hand on hit. Dealer should stay split hand (with a 20)
 		dealer.takeTurn(deck);
 		
 		assertEquals(true, dealer.split);
@@ -305,14 +306,14 @@ public class PlayerClassTests extends TestCase {
 		
 		// force the player to bust, and the dealer shouldn't need to take their turn
 		deck = new Deck();
-		dealer = new DealerPlayer(deck);
-		Game.human = new HumanPlayer(deck);
-		Game.human.hand.add(new Card("S", "8", 8));
-		Game.human.hand.add(new Card("C", "K", 10));
-		Game.human.hand.add(new Card("S", "Q", 10));
+		dealer = new DealerPlayer(deck, io);
+		dealer.opponent = new HumanPlayer(deck, io);
+		dealer.opponent.hand.add(new Card("S", "8", 8));
+		dealer.opponent.hand.add(new Card("C", "K", 10));
+		dealer.opponent.hand.add(new Card("S", "Q", 10));
 		
 		dealer.takeTurn(deck);
-		assertEquals(Hand.HandState.busted, Game.human.getBestHandState());
+		assertEquals(Hand.HandState.busted, dealer.opponent.getBestHandState());
 		assertEquals(2, dealer.hand.cards.size());
 	}
 	
@@ -320,12 +321,12 @@ public class PlayerClassTests extends TestCase {
 	public void testHumanPlayerTurn() {
 		Deck deck = new Deck();
 		deck.shuffle();
-		HumanPlayer human = new HumanPlayer(deck);
+		HumanPlayer human = new HumanPlayer(deck, io);
 		
-		ConsoleIO.fileCommands = null;
-		ConsoleIO.inputError = false;
-		ConsoleIO.outputln(System.lineSeparator());
-		ConsoleIO.outputln(human.getHand());
+		io.script = null;
+		io.inputError = false;
+		io.outputln(System.lineSeparator());
+		io.outputln(human.getHand());
 		human.takeTurn(deck);
 		
 		assertThat(human.getBestHandState(), anyOf(is(Hand.HandState.blackjack), is(Hand.HandState.safe), is(Hand.HandState.busted)));
@@ -336,24 +337,48 @@ public class PlayerClassTests extends TestCase {
 		Deck deck = new Deck();
 		HumanPlayer human;
 		
-		deck.cards = new ArrayList<Card>();
-		deck.cards.add(new Card("C", "8", 8)); // human's first card
-		deck.cards.add(new Card("D", "8", 8)); // human's second card
-		human = new HumanPlayer(deck);
-		deck.cards.add(new Card("C", "5", 5));   // automatically added to human's first hand.
-		deck.cards.add(new Card("H", "5", 5));   // automatically added to human's split hand.
-		deck.cards.add(new Card("C", "10", 10));
-		deck.cards.add(new Card("H", "7", 7));
-		
-		ConsoleIO.fileCommands = null;
-		ConsoleIO.inputError = false;
-		ConsoleIO.outputln(System.lineSeparator());
-		ConsoleIO.outputln(human.getHand());
+		deck.clear();
+		deck.add(new Card("C", "8", 8)); // human's first card
+		deck.add(new Card("D", "8", 8)); // human's second card
+		human = new HumanPlayer(deck, io);
+		deck.add(new Card("C", "5", 5));   // automatically added to human's first hand.
+		deck.add(new Card("H", "5", 5));   // automatically added to human's split hand.
+		deck.add(new Card("C", "10", 10));
+		deck.add(new Card("H", "7", 7));
+		
+		io.script = null;
+		io.inputError = false;
+		io.outputln(System.lineSeparator());
+		io.outputln(human.getHand());
 		human.takeTurn(deck);
 		
 		assertEquals(true, human.split);
 	}
 	
+	/**************
+	 * Purpose:  A bot plays its whole turn without any input,
+	 * 		splitting a pair of 8s and playing both hands.
+	 **************/
+	@Test
+	public void testBotPlayerTurn() {
+		Deck deck = new Deck();
+		deck.clear();
+		deck.add(new Card("C", "8", 8));
+		deck.add(new Card("D", "8", 8));
+		BotPlayer bot = new BotPlayer(deck, io, StrategyTable.compute(1));
+		deck.add(new Card("C", "10", 10));	// added to the first hand when splitting
+		deck.add(new Card("H", "10", 10));	// added to the split hand when splitting
+		
+		bot.setDealerUpcard(new Card("S", "6", 6));
+		bot.takeTurn(deck);
+		
+		assertTrue(bot.split);
+		assertEquals(18, bot.hand.getScore());
+		assertEquals(18, bot.splitHand.getScore());
+		assertNull(bot.currentHand);
+		assertEquals(0, deck.size());
+	}
+	
 	@Test
 	public void testPlayerSplit() {
 		Deck deck = new Deck();
@@ -371,4 +396,30 @@ public class PlayerClassTests extends TestCase {
 		assertEquals("C8", player.hand.cards.get(0).toString());
 		assertEquals("D8", player.splitHand.cards.get(0).toString());
 	}
+	
+	@Test
+	public void testPlayerReset() {
+		Deck deck = new Deck();
+		Player player = new Player(deck);
+		Hand hand = player.hand;
+		
+		player.hand.cards.set(1, player.hand.cards.get(0));
+		player.split(deck);
+		Hand splitHand = player.splitHand;
+		player.initialBlackjack = true;
+		
+		player.reset(deck);
+		assertSame(hand, player.hand);
+		assertSame(hand, player.currentHand);
+		assertNull(player.splitHand);
+		assertEquals(false, player.split);
+		assertEquals(false, player.initialBlackjack);
+		assertEquals(2, player.hand.cards.size());
+		
+		// the split hand is reused by the next split
+		player.hand.cards.set(1, player.hand.cards.get(0));
+		player.split(deck);
+		assertSame(splitHand, player.splitHand);
+		assertEquals(2, player.splitHand.cards.size());
+	}
 }
@@ -0,0 +1,323 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class RoundClassTests extends TestCase {
+	
+	/**************
+	 * Purpose:  A listener that keeps every event as text.
+	 **************/
+	private static class Recorder implements Round.Listener {
+		List<String> events = new ArrayList<String>();
+		int turns = 0;
+		
+		@Override
+		public void onEvent(Round round, int event) {
+			events.add(JournalReader.describe(event));
+		}
+		
+		@Override
+		public void onTurn(Round round) {
+			turns++;
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  The dealer's hole card is only sent once it is
+	 * 		turned over, and the dealer doesn't play after the
+	 * 		human busts.
+	 **************/
+	@Test
+	public void testHumanBusts() {
+		Recorder recorder = new Recorder();
+		Round round = new Round(new ScriptDeck(ScriptReader.of("SK H5 C9 D7 S8")), Rules.DEFAULT, recorder);
+		
+		assertTrue(round.deal());
+		assertEquals(Round.State.humanTurn, round.getState());
+		assertEquals(1, recorder.turns);
+		assertEquals(4, recorder.events.size());
+		assertEquals("dealer deal C9 on hand 1", recorder.events.get(3));
+		
+		assertTrue(round.act(Player.Action.hit));
+		assertEquals(Round.State.finished, round.getState());
+		assertEquals(Game.Outcome.lost, round.getOutcome());
+		assertEquals(1, recorder.turns);
+		assertEquals("human hit S8 on hand 1", recorder.events.get(4));
+		assertEquals("human bust on 23 with hand 1", recorder.events.get(5));
+		assertEquals("dealer deal D7 on hand 1", recorder.events.get(6));
+		assertEquals("human lost", recorder.events.get(7));
+		assertEquals(8, recorder.events.size());
+	}
+	
+	
+	/**************
+	 * Purpose:  The human plays both split hands, then the dealer
+	 * 		plays to a bust.
+	 **************/
+	@Test
+	public void testHumanSplits() {
+		Recorder recorder = new Recorder();
+		Round round = new Round(new ScriptDeck(ScriptReader.of("S8 H8 C9 D7 S3 HK CQ SK")), Rules.DEFAULT, recorder);
+		
+		round.deal();
+		assertTrue(round.isAllowed(Player.Action.split));
+		assertTrue(round.act(Player.Action.split));
+		assertFalse(round.isAllowed(Player.Action.split));
+		assertEquals("human split", recorder.events.get(4));
+		assertEquals("human deal S3 on hand 1", recorder.events.get(5));
+		assertEquals("human deal HK on hand 2", recorder.events.get(6));
+		
+		assertTrue(round.act(Player.Action.hit));
+		assertTrue(round.act(Player.Action.stay));
+		assertEquals(Round.State.humanTurn, round.getState());
+		assertTrue(round.act(Player.Action.stay));
+		
+		assertEquals(4, recorder.turns);
+		assertEquals("human stay on 21 with hand 1", recorder.events.get(8));
+		assertEquals("human stay on 18 with hand 2", recorder.events.get(9));
+		assertEquals("dealer deal D7 on hand 1", recorder.events.get(10));
+		assertEquals("dealer hit SK on hand 1", recorder.events.get(11));
+		assertEquals("dealer bust on 26 with hand 1", recorder.events.get(12));
+		assertEquals("human won", recorder.events.get(13));
+		assertEquals(Game.Outcome.won, round.getOutcome());
+	}
+	
+	
+	/**************
+	 * Purpose:  An initial blackjack finishes the round as soon as
+	 * 		it is dealt, without asking the human to act.
+	 **************/
+	@Test
+	public void testInitialBlackjack() {
+		Recorder recorder = new Recorder();
+		Round round = new Round(new ScriptDeck(ScriptReader.of("SA HK C9 D7")), Rules.DEFAULT, recorder);
+		
+		assertTrue(round.deal());
+		assertEquals(Round.State.finished, round.getState());
+		assertEquals(Game.Outcome.won, round.getOutcome());
+		assertEquals(0, recorder.turns);
+		assertEquals("dealer deal D7 on hand 1", recorder.events.get(4));
+	}
+	
+	
+	/**************
+	 * Purpose:  Actions that aren't allowed are refused and change
+	 * 		nothing.
+	 **************/
+	@Test
+	public void testRefusedActions() {
+		Recorder recorder = new Recorder();
+		Round round = new Round(new ScriptDeck(ScriptReader.of("SK H5 C9 D7 S8")), Rules.DEFAULT, recorder);
+		
+		assertFalse(round.act(Player.Action.hit));
+		assertEquals(Round.State.ready, round.getState());
+		
+		round.deal();
+		assertFalse(round.deal());
+		assertFalse(round.act(Player.Action.split));
+		assertEquals(Round.State.humanTurn, round.getState());
+		assertEquals(4, recorder.events.size());
+	}
+	
+	
+	/**************
+	 * Purpose:  A bot driving a round from a strategy table plays
+	 * 		exactly the same rounds as the simulation on the same
+	 * 		seeded shoe.
+	 **************/
+	@Test
+	public void testMatchesSimulation() {
+		StrategyTable table = StrategyTable.compute(6);
+		Simulation simulation = new Simulation(new Shoe(6, Shoe.DEFAULT_PENETRATION, RandomSource.seeded(7)), table);
+		Round round = new Round(new Shoe(6, Shoe.DEFAULT_PENETRATION, RandomSource.seeded(7)), Rules.DEFAULT, new Recorder());
+		long[] outcomes = new long[Game.Outcome.values().length];
+		
+		simulation.run(5000);
+		
+		for (int i = 0; i < 5000; i++) {
+			round.deal();
+			
+			while (round.getState() == Round.State.humanTurn) {
+				Player human = round.getHuman();
+				Card upcard = round.getDealer().hand.cards.get(0);
+				round.act(table.getAction(human.currentHand, upcard, round.isAllowed(Player.Action.split)));
+			}
+			
+			outcomes[round.getOutcome().ordinal()]++;
+		}
+		
+		assertEquals(simulation.wins, outcomes[Game.Outcome.won.ordinal()]);
+		assertEquals(simulation.losses, outcomes[Game.Outcome.lost.ordinal()]);
+		assertEquals(simulation.pushes, outcomes[Game.Outcome.push.ordinal()]);
+	}
+	
+	
+	/**************
+	 * Purpose:  A listener that throws for one table doesn't stop
+	 * 		the loop. The failure is kept for that table, and the
+	 * 		other tables, and later rounds, still play.
+	 **************/
+	@Test
+	public void testLoopKeepsListenerFailure() {
+		final IllegalStateException broken = new IllegalStateException("broken");
+		final int[] results = new int[2];
+		final RoundLoop[] loop = new RoundLoop[1];
+		
+		loop[0] = new RoundLoop(Rules.DEFAULT, new Round.Listener() {
+			@Override
+			public void onEvent(Round round, int event) {
+				if (JournalReader.type(event) == RoundJournal.Event.result) {
+					results[round.getId()]++;
+				}
+				
+				if (round.getId() == 0) {
+					throw broken;
+				}
+			}
+			
+			@Override
+			public void onTurn(Round round) {
+				loop[0].submit(round.getId(), Player.Action.stay);
+			}
+		});
+		
+		int first = loop[0].open(new Deck(RandomSource.seeded(1)));
+		int second = loop[0].open(new Deck(RandomSource.seeded(2)));
+		
+		loop[0].deal(first);
+		loop[0].deal(second);
+		loop[0].runPending();
+		loop[0].deal(first);
+		loop[0].runPending();
+		
+		assertSame(broken, loop[0].getFailure(first));
+		assertNull(loop[0].getFailure(second));
+		assertEquals(2, results[first]);
+		assertEquals(1, results[second]);
+		assertEquals(Round.State.finished, loop[0].getTable(first).getState());
+	}
+	
+	
+	/**************
+	 * Purpose:  A table whose Round throws, here because its deck
+	 * 		has run out, keeps the failure while the other tables
+	 * 		play on.
+	 **************/
+	@Test
+	public void testLoopKeepsRoundFailure() {
+		final int[] results = new int[2];
+		final RoundLoop[] loop = new RoundLoop[1];
+		
+		loop[0] = new RoundLoop(Rules.DEFAULT, new Round.Listener() {
+			@Override
+			public void onEvent(Round round, int event) {
+				if (JournalReader.type(event) == RoundJournal.Event.result) {
+					results[round.getId()]++;
+				}
+			}
+			
+			@Override
+			public void onTurn(Round round) {
+				loop[0].submit(round.getId(), Player.Action.stay);
+			}
+		});
+		
+		int empty = loop[0].open(new Deck(RandomSource.seeded(1)) {
+			@Override
+			public int drawCode() {
+				throw new IndexOutOfBoundsException("The deck is empty.");
+			}
+		});
+		int full = loop[0].open(new Deck(RandomSource.seeded(2)));
+		
+		loop[0].deal(empty);
+		loop[0].deal(full);
+		loop[0].runPending();
+		
+		assertTrue(loop[0].getFailure(empty) instanceof IndexOutOfBoundsException);
+		assertNull(loop[0].getFailure(full));
+		assertEquals(0, results[empty]);
+		assertEquals(1, results[full]);
+	}
+	
+	
+	/**************
+	 * Purpose:  runPending() stops at a close without taking it, so
+	 * 		run() still stops there afterwards.
+	 **************/
+	@Test
+	public void testRunPendingLeavesStop() throws InterruptedException {
+		RoundLoop loop = new RoundLoop(Rules.DEFAULT, new Recorder());
+		int table = loop.open(new Deck(RandomSource.seeded(3)));
+		
+		loop.deal(table);
+		loop.close();
+		assertEquals(1, loop.runPending());
+		assertEquals(0, loop.runPending());
+		
+		Thread thread = new Thread(loop);
+		thread.start();
+		thread.join(60000);
+		
+		assertFalse(thread.isAlive());
+	}
+	
+	
+	/**************
+	 * Purpose:  One thread plays thousands of tables at once, with
+	 * 		bots answering each turn through the loop's queue.
+	 **************/
+	@Test
+	public void testLoopPlaysManyTables() throws InterruptedException {
+		final int tables = 5000;
+		final int roundsPerTable = 10;
+		final StrategyTable table = StrategyTable.compute(1);
+		final int[] played = new int[tables];
+		final int[] finished = new int[1];
+		final RoundLoop[] loop = new RoundLoop[1];
+		
+		loop[0] = new RoundLoop(Rules.DEFAULT, new Round.Listener() {
+			@Override
+			public void onEvent(Round round, int event) {
+				if (JournalReader.type(event) == RoundJournal.Event.result) {
+					played[round.getId()]++;
+					
+					if (played[round.getId()] < roundsPerTable) {
+						loop[0].deal(round.getId());
+					}
+					else if (++finished[0] == tables) {
+						loop[0].close();
+					}
+				}
+			}
+			
+			@Override
+			public void onTurn(Round round) {
+				Card upcard = round.getDealer().hand.cards.get(0);
+				Player.Action action = table.getAction(round.getHuman().currentHand, upcard, round.isAllowed(Player.Action.split));
+				loop[0].submit(round.getId(), action);
+			}
+		});
+		
+		for (int i = 0; i < tables; i++) {
+			loop[0].deal(loop[0].open(new Deck(RandomSource.seeded(i))));
+		}
+		
+		Thread thread = new Thread(loop[0]);
+		thread.start();
+		thread.join(60000);
+		
+		assertFalse(thread.isAlive());
+		assertEquals(tables, loop[0].getTableCount());
+		assertEquals(tables, finished[0]);
+		
+		for (int i = 0; i < tables; i++) {
+			assertEquals(roundsPerTable, played[i]);
+		}
+	}
+}
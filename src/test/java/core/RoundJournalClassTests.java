@@ -0,0 +1,156 @@
+package core;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class RoundJournalClassTests extends TestCase {
+	
+	/**************
+	 * Purpose:  A scripted game with a split is written in the
+	 * 		order it was played, and can be read back as text.
+	 **************/
+	@Test
+	public void testRecordGame() throws IOException {
+		File file = File.createTempFile("journal", ".bin");
+		file.delete();
+		
+		try {
+			try (RoundJournal journal = new RoundJournal(file.getPath())) {
+				Game game = new Game(new ConsoleIO(OutputSink.quiet()), "src/main/resources/input files/file4.txt");
+				game.setJournal(journal);
+				game.play();
+				
+				assertEquals(1, journal.getRounds());
+			}
+			
+			JournalReader reader = new JournalReader(file.getPath());
+			String[] events = reader.describeRound(1).split(System.lineSeparator());
+			
+			assertEquals(14, events.length);
+			assertEquals("human deal SK on hand 1", events[1]);
+			assertEquals("human deal HK on hand 2", events[2]);
+			assertEquals("human split", events[5]);
+			assertEquals("human hit D3 on hand 1", events[8]);
+			assertEquals("human stay on 20 with hand 2", events[11]);
+			assertEquals("dealer stay on 19 with hand 1", events[12]);
+			assertEquals("human won", events[13]);
+		} finally {
+			file.delete();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  A game where both players have a blackjack is
+	 * 		journaled as a push, not a loss.
+	 **************/
+	@Test
+	public void testRecordPush() throws IOException {
+		File file = File.createTempFile("journal", ".bin");
+		file.delete();
+		
+		try {
+			try (RoundJournal journal = new RoundJournal(file.getPath())) {
+				Game game = new Game(new ConsoleIO(OutputSink.quiet()), "src/main/resources/input files/file1.txt");
+				game.setJournal(journal);
+				game.play();
+			}
+			
+			String[] events = new JournalReader(file.getPath()).describeRound(1).split(System.lineSeparator());
+			
+			assertEquals("human push", events[events.length - 1]);
+		} finally {
+			file.delete();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Every simulated round is in the journal with the
+	 * 		same outcome, every card comes from a fresh deck, and 
+	 * 		reopening the journal adds to the end of it.
+	 **************/
+	@Test
+	public void testRecordSimulation() throws IOException {
+		File file = File.createTempFile("journal", ".bin");
+		file.delete();
+		
+		try {
+			Simulation simulation = new Simulation(new Deck(), StrategyTable.compute(1));
+			
+			for (int i = 0; i < 2; i++) {
+				try (RoundJournal journal = new RoundJournal(file.getPath())) {
+					simulation.setJournal(journal);
+					simulation.run(5000);
+				}
+			}
+			
+			JournalReader reader = new JournalReader(file.getPath());
+			long rounds = 0;
+			long wins = 0;
+			long seen = 0;
+			
+			while (reader.hasNext()) {
+				int event = reader.next();
+				
+				switch (JournalReader.type(event)) {
+					case round :
+						rounds++;
+						seen = 0;
+						break;
+					case deal :
+					case hit :
+						assertEquals(0, seen & 1L << JournalReader.data(event));
+						seen |= 1L << JournalReader.data(event);
+						break;
+					case result :
+						wins += JournalReader.data(event) == Game.Outcome.won.ordinal() ? 1 : 0;
+						break;
+					default :
+						break;
+				}
+			}
+			
+			assertEquals(simulation.rounds, rounds);
+			assertEquals(simulation.wins, wins);
+		} finally {
+			file.delete();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Other files are not mistaken for journals.
+	 **************/
+	@Test
+	public void testNotAJournal() throws IOException {
+		File file = File.createTempFile("journal", ".bin");
+		
+		try {
+			try (Writer writer = new FileWriter(file)) {
+				writer.write("SK HA HQ CA");
+			}
+			
+			try {
+				new RoundJournal(file.getPath());
+				fail();
+			} catch (IOException e) {
+				assertEquals("Not a round journal.", e.getMessage());
+			}
+			
+			try {
+				new JournalReader(file.getPath());
+				fail();
+			} catch (IOException e) {
+				assertEquals("Not a round journal.", e.getMessage());
+			}
+		} finally {
+			file.delete();
+		}
+	}
+}
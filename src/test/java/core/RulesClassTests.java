@@ -0,0 +1,132 @@
+package core;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class RulesClassTests extends TestCase {
+	
+	/**************
+	 * Purpose:  The default table is the old rule: hit on 16 or
+	 * 		less, and on 17 with an ace worth 11.
+	 **************/
+	@Test
+	public void testDefaultDealerHits() {
+		for (int total = 2; total <= 30; total++) {
+			assertEquals(total <= 16, Rules.DEFAULT.dealerHits(total, false));
+			assertEquals(total <= 17, Rules.DEFAULT.dealerHits(total, true));
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  With S17 the dealer stays on soft 17, and a dealer
+	 * 		playing by those rules stops there.
+	 **************/
+	@Test
+	public void testStandSoft17() {
+		Rules rules = Rules.parse("dealer=s17");
+		DealerPlayer dealer = new DealerPlayer(new ScriptDeck(ScriptReader.of("SA H6")), new ConsoleIO(OutputSink.quiet()));
+		
+		assertFalse(rules.dealerHits(17, true));
+		assertTrue(rules.dealerHits(16, true));
+		assertTrue(dealer.checkHit(null));
+		
+		dealer.setRules(rules);
+		assertFalse(dealer.checkHit(null));
+	}
+	
+	
+	/**************
+	 * Purpose:  The dealer splits small pairs unless dealer splits
+	 * 		are turned off.
+	 **************/
+	@Test
+	public void testDealerSplit() {
+		Hand eights = new Hand();
+		Hand nines = new Hand();
+		
+		eights.add(new Card("S", "8", 8));
+		eights.add(new Card("H", "8", 8));
+		nines.add(new Card("S", "9", 9));
+		nines.add(new Card("H", "9", 9));
+		
+		assertTrue(Rules.DEFAULT.dealerSplits(eights));
+		assertFalse(Rules.DEFAULT.dealerSplits(nines));
+		assertFalse(Rules.parse("dealerSplit=off").dealerSplits(eights));
+		assertTrue(Rules.parse("dealerSplitMax=18").dealerSplits(nines));
+	}
+	
+	
+	/**************
+	 * Purpose:  With no splits allowed, a player can't split a pair.
+	 **************/
+	@Test
+	public void testNoSplits() {
+		Player player = new Player(new ScriptDeck(ScriptReader.of("S8 H8")), new ConsoleIO(OutputSink.quiet()));
+		
+		assertTrue(player.canSplit());
+		player.setRules(Rules.parse("splits=0"));
+		assertFalse(player.canSplit());
+	}
+	
+	
+	/**************
+	 * Purpose:  Two blackjacks push, or go to the dealer.
+	 **************/
+	@Test
+	public void testBlackjackTie() {
+		Deck deck = new ScriptDeck(ScriptReader.of("SA HK CA DQ"));
+		Player human = new Player(deck, new ConsoleIO(OutputSink.quiet()));
+		DealerPlayer dealer = new DealerPlayer(deck, new ConsoleIO(OutputSink.quiet()));
+		
+		human.initialBlackjack = true;
+		dealer.initialBlackjack = true;
+		assertEquals(Game.Outcome.push, Game.getOutcome(human, dealer));
+		
+		dealer.setRules(Rules.parse("blackjackTie=dealer"));
+		assertEquals(Game.Outcome.lost, Game.getOutcome(human, dealer));
+	}
+	
+	
+	/**************
+	 * Purpose:  Rules can be read back from their text form, and
+	 * 		unknown rules are rejected.
+	 **************/
+	@Test
+	public void testParse() {
+		Rules rules = Rules.parse("dealer=s17, dealerSplit=off, splits=0, blackjackTie=dealer");
+		
+		assertEquals(rules.toString(), Rules.parse(rules.toString()).toString());
+		assertEquals(Rules.DEFAULT.toString(), Rules.parse("").toString());
+		
+		try {
+			Rules.parse("surrender=late");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("surrender"));
+		}
+		try {
+			Rules.parse("splits=3");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("3"));
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  A simulation can be swept across rule variants on
+	 * 		the same seed, and the default rules change nothing.
+	 **************/
+	@Test
+	public void testSimulationSweep() throws InterruptedException {
+		Simulation before = Simulation.runParallel(20000, 2, 6, null, RandomSource.seeded(3));
+		Simulation defaults = Simulation.runParallel(20000, 2, 6, null, RandomSource.seeded(3), Rules.DEFAULT);
+		Simulation stand = Simulation.runParallel(20000, 2, 6, null, RandomSource.seeded(3), Rules.parse("dealer=s17"));
+		
+		assertEquals(before.wins, defaults.wins);
+		assertEquals(before.losses, defaults.losses);
+		assertEquals(20000, stand.wins + stand.losses + stand.pushes);
+		assertTrue(stand.wins != defaults.wins || stand.losses != defaults.losses);
+	}
+}
@@ -0,0 +1,139 @@
+package core;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class ScriptReaderClassTests extends TestCase {
+	
+	/**************
+	 * Purpose:  Cards and commands are read separately, each in
+	 * 		the order they appear in the file.
+	 **************/
+	@Test
+	public void testCardsAndCommands() {
+		ScriptReader script = ScriptReader.of("S10 D3 SQ C5 H H5 H SA S CA D2");
+		
+		assertTrue(script.isValid());
+		assertFalse(script.hasDuplicates());
+		assertEquals(8, script.cardsLeft());
+		
+		assertEquals(Card.code("S", "10"), script.nextCard());
+		assertEquals("H", script.nextCommand());
+		assertEquals(Card.code("D", "3"), script.nextCard());
+		assertEquals(Arrays.asList("H", "S"), script.getCommands());
+		assertEquals(6, script.getCards().size());
+		assertEquals(Card.code("C", "5"), script.peekCard(1));
+		assertEquals(6, script.cardsLeft());
+		
+		assertEquals("H", script.nextCommand());
+		assertEquals("S", script.nextCommand());
+		assertNull(script.nextCommand());
+		
+		script.skipCards();
+		assertEquals(-1, script.nextCard());
+		script.rewindCards();
+		assertEquals(Card.code("S", "10"), script.nextCard());
+	}
+	
+	
+	/**************
+	 * Purpose:  Lower case tokens and any amount of whitespace
+	 * 		are accepted, while anything else makes the file invalid.
+	 **************/
+	@Test
+	public void testValidation() {
+		ScriptReader script = ScriptReader.of("  sk\r\nh10\t\th  ");
+		
+		assertTrue(script.isValid());
+		assertEquals(Card.code("S", "K"), script.nextCard());
+		assertEquals(Card.code("H", "10"), script.nextCard());
+		assertEquals("H", script.nextCommand());
+		
+		assertFalse(ScriptReader.of("SK X1 HA").isValid());
+		assertFalse(ScriptReader.of("S1 HA").isValid());
+		assertFalse(ScriptReader.of("S11").isValid());
+		assertTrue(ScriptReader.of("SK HA SK").hasDuplicates());
+		
+		assertEquals(-1, ScriptReader.cardCode("S\t"));
+		assertEquals(-1, ScriptReader.cardCode("Z2"));
+		assertNull(ScriptReader.command("Q"));
+	}
+	
+	
+	/**************
+	 * Purpose:  A large game file is read from disk one card and
+	 * 		command at a time.
+	 **************/
+	@Test
+	public void testLargeFile() throws IOException {
+		File file = File.createTempFile("script", ".txt");
+		int games = 100000;
+		
+		try {
+			try (Writer writer = new FileWriter(file)) {
+				for (int i = 0; i < games; i++) {
+					writer.write("S10 D3 SQ C5 H H5 H SA S CA D2\n");
+				}
+			}
+			
+			ScriptReader script = new ScriptReader(file.getPath());
+			int cards = 0;
+			int commands = 0;
+			
+			assertTrue(script.isValid());
+			assertTrue(script.hasDuplicates());
+			assertEquals(8 * games, script.cardsLeft());
+			
+			while (script.nextCard() >= 0) {
+				cards++;
+				
+				if (cards % 8 == 0) {
+					for (int i = 0; i < 3; i++) {
+						assertNotNull(script.nextCommand());
+						commands++;
+					}
+				}
+			}
+			
+			assertEquals(8 * games, cards);
+			assertEquals(3 * games, commands);
+			assertNull(script.nextCommand());
+		} finally {
+			file.delete();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  A deck built on a file deals its cards in order,
+	 * 		then any cards added to it.
+	 **************/
+	@Test
+	public void testScriptDeck() {
+		ScriptDeck deck = new ScriptDeck(ScriptReader.of("SK H HA"));
+		
+		deck.add(new Card("C", "2", 2));
+		assertEquals(3, deck.size());
+		assertEquals("HA", deck.get(1).toString());
+		assertEquals("C2", deck.get(2).toString());
+		assertTrue(deck.checkDuplicates());
+		
+		assertEquals("SK", deck.draw().toString());
+		assertEquals("HA", deck.draw().toString());
+		assertEquals("C2", deck.draw().toString());
+		assertEquals(0, deck.size());
+		
+		assertEquals(-1, deck.getRunningCount());
+		
+		deck.reset();
+		assertEquals(3, deck.getCards().size());
+		assertEquals(1, deck.getRemaining(0));
+		assertEquals(0, deck.getRunningCount());
+	}
+}
@@ -0,0 +1,193 @@
+package core;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class ShoeClassTests extends TestCase {
+	
+	/**************
+	 * Purpose:  A shoe holds every card once per deck.
+	 **************/
+	@Test
+	public void testCreateShoe() {
+		Shoe shoe = new Shoe(6);
+		
+		assertEquals(6 * 52, shoe.size());
+		assertEquals(6, shoe.getDecks());
+		assertTrue(shoe.checkDuplicates());
+		
+		shoe.add(new Card("S", "A", 0));
+		assertFalse(shoe.checkDuplicates());
+	}
+	
+	
+	/**************
+	 * Purpose:  The shoe only asks to be reshuffled once the cut
+	 * 		card comes out, and reshuffling puts every card back.
+	 **************/
+	@Test
+	public void testCutCard() {
+		Shoe shoe = new Shoe(2, 0.5);
+		
+		assertEquals(52, shoe.cardsBeforeCut());
+		for (int i = 0; i < 51; i++) {
+			shoe.draw();
+		}
+		assertFalse(shoe.needsShuffle());
+		
+		shoe.draw();
+		assertTrue(shoe.needsShuffle());
+		
+		shoe.reshuffle();
+		assertFalse(shoe.needsShuffle());
+		assertEquals(104, shoe.size());
+	}
+	
+	
+	/**************
+	 * Purpose:  A round that runs past the end of the shoe gets
+	 * 		the earlier rounds' cards reshuffled, but not the cards
+	 * 		already on the table, so none of them come out twice
+	 * 		and only they are counted.
+	 **************/
+	@Test
+	public void testDrawPastEnd() {
+		Shoe shoe = new Shoe(1, 1.0, RandomSource.seeded(3));
+		boolean[] seen = new boolean[Card.DECK_SIZE];
+		int running = 0;
+		
+		for (int i = 0; i < 40; i++) {
+			shoe.draw();
+		}
+		
+		shoe.startRound();
+		for (int i = 0; i < 20; i++) {
+			Card card = shoe.draw();
+			
+			assertFalse(seen[card.code]);
+			seen[card.code] = true;
+			running += card.value >= 2 && card.value <= 6 ? 1 : card.value >= 10 || card.value == 0 ? -1 : 0;
+		}
+		
+		assertEquals(32, shoe.size());
+		assertEquals(running, shoe.getRunningCount());
+		assertTrue(shoe.checkDuplicates());
+		for (int i = 0; i < 32; i++) {
+			assertFalse(seen[shoe.draw().code]);
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  A round that draws every card in the shoe has
+	 * 		nothing left to reshuffle, so the shoe is empty.
+	 **************/
+	@Test
+	public void testDrawWholeShoe() {
+		Shoe shoe = new Shoe(1, 1.0);
+		
+		shoe.startRound();
+		for (int i = 0; i < 52; i++) {
+			shoe.draw();
+		}
+		
+		try {
+			shoe.draw();
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			assertEquals("The deck is empty.", e.getMessage());
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Starting a round once the cut card has come out
+	 * 		reshuffles the whole shoe.
+	 **************/
+	@Test
+	public void testStartRound() {
+		Shoe shoe = new Shoe(2, 0.5);
+		
+		for (int i = 0; i < 51; i++) {
+			shoe.draw();
+		}
+		shoe.startRound();
+		assertEquals(51, 104 - shoe.size());
+		
+		shoe.draw();
+		shoe.startRound();
+		assertEquals(104, shoe.size());
+		assertEquals(0, shoe.getRunningCount());
+	}
+	
+	
+	/**************
+	 * Purpose:  A shoe can be used anywhere a deck is, including
+	 * 		dealing and splitting.
+	 **************/
+	@Test
+	public void testPlayersUseShoe() {
+		Shoe shoe = new Shoe(8);
+		Player player = new Player(shoe);
+		
+		player.hand = new Hand();
+		player.hand.add(new Card("C", "8", 8));
+		player.hand.add(new Card("D", "8", 8));
+		player.split(shoe);
+		
+		assertEquals(8 * 52 - 4, shoe.size());
+		assertEquals(2, player.splitHand.cards.size());
+	}
+	
+	
+	/**************
+	 * Purpose:  The count kept by the shoe matches counting the
+	 * 		drawn cards by hand, and starts over when the shoe is
+	 * 		reshuffled.
+	 **************/
+	@Test
+	public void testCounting() {
+		Shoe shoe = new Shoe(6, 1.0, RandomSource.seeded(15));
+		int running = 0;
+		int[] remaining = new int[Card.RANKS.length];
+		
+		for (int i = 0; i < 200; i++) {
+			Card card = shoe.draw();
+			
+			running += card.value >= 2 && card.value <= 6 ? 1 : card.value >= 10 || card.value == 0 ? -1 : 0;
+			remaining[Card.rankIndexOf(card.code)]++;
+		}
+		
+		assertEquals(running, shoe.getRunningCount());
+		assertEquals(running * 52.0 / (6 * 52 - 200), shoe.getTrueCount(), 1e-9);
+		for (int rank = 0; rank < Card.RANKS.length; rank++) {
+			assertEquals(24 - remaining[rank], shoe.getRemaining(rank));
+		}
+		
+		shoe.startRound();
+		while (shoe.size() > 0) {
+			shoe.draw();
+		}
+		shoe.reshuffle();
+		shoe.draw();
+		assertEquals(6 * 52 - 1, shoe.size());
+		assertEquals(23, shoe.getRemaining(Card.rankIndexOf(shoe.cards[0])));
+	}
+	
+	
+	@Test
+	public void testInvalidShoe() {
+		try {
+			new Shoe(0);
+			fail("A shoe without decks should not be created");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			new Shoe(6, 1.5);
+			fail("Penetration above 1 should not be allowed");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+}
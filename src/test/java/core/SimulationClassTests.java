@@ -0,0 +1,143 @@
+package core;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class SimulationClassTests extends TestCase {
+	
+	/**************
+	 * Purpose:  Every round played is counted as exactly one win,
+	 * 		loss or push, and blackjacks are a subset of the wins.
+	 **************/
+	@Test
+	public void testRunCountsEveryRound() {
+		Simulation simulation = new Simulation();
+		simulation.run(10000);
+		
+		assertEquals(10000, simulation.rounds);
+		assertEquals(simulation.rounds, simulation.wins + simulation.losses + simulation.pushes);
+		assertTrue(simulation.blackjacks <= simulation.wins);
+		assertTrue(simulation.wins > 0);
+		assertTrue(simulation.losses > 0);
+		assertTrue(simulation.getRoundsPerSecond() > 0);
+	}
+	
+	/**************
+	 * Purpose:  A simulation can deal many rounds from one shoe.
+	 **************/
+	@Test
+	public void testRunWithShoe() {
+		Shoe shoe = new Shoe(6);
+		Simulation simulation = new Simulation(shoe);
+		simulation.run(5000);
+		
+		assertEquals(5000, simulation.wins + simulation.losses + simulation.pushes);
+		assertTrue(shoe.size() > 0);
+	}
+	
+	/**************
+	 * Purpose:  The human can be a bot playing from a strategy table.
+	 **************/
+	@Test
+	public void testRunWithStrategyTable() {
+		Simulation simulation = new Simulation(new Shoe(6), StrategyTable.compute(6));
+		simulation.run(5000);
+		
+		assertEquals(5000, simulation.wins + simulation.losses + simulation.pushes);
+	}
+	
+	/**************
+	 * Purpose:  Rounds split across threads are all played, and
+	 * 		the combined totals still add up.
+	 **************/
+	@Test
+	public void testRunParallel() throws InterruptedException {
+		Simulation simulation = Simulation.runParallel(20001, 4);
+		
+		assertEquals(20001, simulation.rounds);
+		assertEquals(simulation.rounds, simulation.wins + simulation.losses + simulation.pushes);
+	}
+	
+	
+	/**************
+	 * Purpose:  The same seed and number of threads play exactly
+	 * 		the same rounds.
+	 **************/
+	@Test
+	public void testSeededRunParallel() throws InterruptedException {
+		Simulation first = Simulation.runParallel(20000, 4, 6, null, RandomSource.seeded(42));
+		Simulation second = Simulation.runParallel(20000, 4, 6, null, RandomSource.seeded(42));
+		
+		assertEquals(first.wins, second.wins);
+		assertEquals(first.losses, second.losses);
+		assertEquals(first.pushes, second.pushes);
+		assertEquals(first.blackjacks, second.blackjacks);
+	}
+	
+	/**************
+	 * Purpose:  Once the players have been made, a round allocates
+	 * 		nothing, with a single deck or with a shoe and a bot.
+	 **************/
+	@Test
+	public void testRoundAllocatesNothing() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+			Simulation single = new Simulation(new Deck(RandomSource.seeded(1)));
+			Simulation shoe = new Simulation(new Shoe(6, Shoe.DEFAULT_PENETRATION, RandomSource.seeded(1)), StrategyTable.compute(6));
+			long id = Thread.currentThread().getId();
+			
+			single.run(10000);
+			shoe.run(10000);
+			
+			long overhead = threads.getThreadAllocatedBytes(id);
+			overhead = threads.getThreadAllocatedBytes(id) - overhead;
+			long before = threads.getThreadAllocatedBytes(id);
+			single.run(10000);
+			shoe.run(10000);
+			long allocated = threads.getThreadAllocatedBytes(id) - before - overhead;
+			
+			assertEquals(0, allocated);
+		}
+	}
+	
+	/**************
+	 * Purpose:  Ties are counted as pushes, and an initial blackjack
+	 * 		for the human alone is counted as a win and a blackjack.
+	 **************/
+	@Test
+	public void testRecordResult() {
+		Simulation simulation = new Simulation();
+		Deck deck = new Deck();
+		Player human = new Player(deck);
+		DealerPlayer dealer = new DealerPlayer(deck);
+		
+		human.hand = new Hand();
+		human.hand.add(new Card("H", "9", 9));
+		human.hand.add(new Card("H", "8", 8));
+		dealer.hand = new Hand();
+		dealer.hand.add(new Card("S", "10", 10));
+		dealer.hand.add(new Card("S", "7", 7));
+		simulation.recordResult(human, dealer);
+		assertEquals(1, simulation.pushes);
+		
+		human.hand = new Hand();
+		human.hand.add(new Card("H", "A", 0));
+		human.hand.add(new Card("H", "K", 10));
+		human.initialBlackjack = true;
+		simulation.recordResult(human, dealer);
+		assertEquals(1, simulation.wins);
+		assertEquals(1, simulation.blackjacks);
+		
+		human.initialBlackjack = false;
+		human.hand = new Hand();
+		human.hand.add(new Card("H", "10", 10));
+		human.hand.add(new Card("H", "6", 6));
+		simulation.recordResult(human, dealer);
+		assertEquals(1, simulation.losses);
+		assertEquals(3, simulation.rounds);
+	}
+}
@@ -0,0 +1,93 @@
+package core;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class StrategyTableClassTests extends TestCase {
+	private static final StrategyTable table = StrategyTable.compute(6);
+	
+	private static Hand hand(Card... cards) {
+		Hand hand = new Hand();
+		for (Card card : cards) {
+			hand.add(card);
+		}
+		return hand;
+	}
+	
+	@Test
+	public void testHardHands() {
+		Card dealerSix = new Card("D", "6", 6);
+		
+		assertEquals(Player.Action.hit, table.getAction(hand(new Card("S", "3", 3), new Card("H", "5", 5)), dealerSix, true));
+		assertEquals(Player.Action.stay, table.getAction(hand(new Card("S", "K", 10), new Card("H", "Q", 10)), dealerSix, true));
+		assertEquals(Player.Action.stay, table.getAction(hand(new Card("S", "K", 10), new Card("H", "9", 9)), new Card("D", "A", 0), true));
+	}
+	
+	@Test
+	public void testSoftHands() {
+		Hand softThirteen = hand(new Card("S", "A", 0), new Card("H", "2", 2));
+		Hand softTwenty = hand(new Card("S", "A", 0), new Card("H", "9", 9));
+		
+		assertEquals(Player.Action.hit, table.getAction(softThirteen, new Card("D", "10", 10), true));
+		assertEquals(Player.Action.stay, table.getAction(softTwenty, new Card("D", "10", 10), true));
+	}
+	
+	/*************************
+	 * Purpose: A tie is a push rather than a loss, so a hand that
+	 * 		can tie the dealer is stood on where hitting would only
+	 * 		have been better if ties lost.
+	 *************************/
+	@Test
+	public void testTiesPush() {
+		Hand hardSeventeen = hand(new Card("S", "K", 10), new Card("H", "7", 7));
+		Hand softEighteen = hand(new Card("S", "A", 0), new Card("H", "7", 7));
+		
+		assertEquals(Player.Action.stay, table.getAction(hardSeventeen, new Card("D", "7", 7), true));
+		assertEquals(Player.Action.stay, table.getAction(softEighteen, new Card("D", "2", 2), true));
+		assertEquals(Player.Action.hit, table.getAction(hand(new Card("S", "10", 10), new Card("H", "2", 2)), 
+														new Card("D", "2", 2), true));
+	}
+	
+	/*************************
+	 * Purpose: Aces are split when splitting is allowed, and the
+	 * 		same hand is played as a soft 12 once it is not.
+	 *************************/
+	@Test
+	public void testPairs() {
+		Hand aces = hand(new Card("S", "A", 0), new Card("H", "A", 0));
+		
+		assertEquals(Player.Action.split, table.getAction(aces, new Card("D", "7", 7), true));
+		assertEquals(Player.Action.hit, table.getAction(aces, new Card("D", "7", 7), false));
+	}
+	
+	/*************************
+	 * Purpose: The table follows the rules on the human's side of
+	 * 		the game: without splits no pair is split, and how two
+	 * 		blackjacks are settled doesn't change any decision.
+	 * 		Another dealer is refused.
+	 *************************/
+	@Test
+	public void testComputeForRules() {
+		StrategyTable noSplits = StrategyTable.compute(6, Rules.parse("splits=0"));
+		Hand aces = hand(new Card("S", "A", 0), new Card("H", "A", 0));
+		
+		assertEquals(Player.Action.hit, noSplits.getAction(aces, new Card("D", "7", 7), true));
+		assertFalse(noSplits.toString().contains("D"));
+		assertEquals(table.toString(), StrategyTable.compute(6, Rules.parse("blackjackTie=dealer")).toString());
+		
+		try {
+			StrategyTable.compute(1, Rules.parse("dealer=s17"));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().startsWith("The strategy table only supports the default dealer rules"));
+		}
+	}
+	
+	@Test
+	public void testToString() {
+		String text = table.toString();
+		
+		assertTrue(text.startsWith("      A  2  3  4  5  6  7  8  9 10"));
+		assertTrue(text.contains("P  A"));
+	}
+}
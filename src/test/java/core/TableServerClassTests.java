@@ -0,0 +1,207 @@
+package core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class TableServerClassTests extends TestCase {
+	private static final int TIMEOUT_MILLIS = 10000;
+	
+	/**************
+	 * Purpose:  A player can connect, play a whole console game
+	 * 		by staying on every prompt, and then quit.
+	 **************/
+	@Test
+	public void testPlayGame() throws IOException {
+		TableServer server = new TableServer(0);
+		server.start();
+		
+		try (Socket socket = connect(server)) {
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+			PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+			String line = in.readLine();
+			boolean finished = false;
+			
+			assertTrue(line.startsWith("Would you like to use"));
+			out.println("c");
+			
+			while (!finished && (line = in.readLine()) != null) {
+				if (line.startsWith("Would you like to (h)hit")) {
+					out.println("s");
+				}
+				finished = line.contains("You won!") || line.contains("You lost!") || line.contains("It's a push!");
+			}
+			assertTrue(finished);
+			
+			while (line != null && !line.startsWith("Would you like to use")) {
+				line = in.readLine();
+			}
+			assertNotNull(line);
+			out.println("q");
+			assertNull(readUntilClosed(in));
+		} finally {
+			server.close();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  A file game doesn't stop the next game on the same
+	 * 		connection from reading the player's input.
+	 **************/
+	@Test
+	public void testFileGameThenConsoleGame() throws IOException {
+		TableServer server = new TableServer(0);
+		server.start();
+		
+		try (Socket socket = connect(server)) {
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+			PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+			String line = in.readLine();
+			int lines = 0;
+			
+			assertTrue(line.startsWith("Would you like to use"));
+			out.println("f");
+			
+			do {
+				line = in.readLine();
+				lines++;
+			} while (line != null && !line.startsWith("Would you like to use") && lines < 100);
+			assertNotNull(line);
+			assertTrue(lines < 100);
+			
+			out.println("c");
+			line = in.readLine();
+			lines = 0;
+			
+			while (line != null && !line.startsWith("Would you like to use") && lines < 100) {
+				assertFalse(line.startsWith("Invalid input"));
+				
+				if (line.startsWith("Would you like to (h)hit")) {
+					out.println("s");
+				}
+				line = in.readLine();
+				lines++;
+			}
+			assertNotNull(line);
+			assertTrue(lines < 100);
+			out.println("q");
+			assertNull(readUntilClosed(in));
+		} finally {
+			server.close();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Many players can sit at tables at once, and their
+	 * 		sessions end when they hang up.
+	 **************/
+	@Test
+	public void testManySessions() throws IOException, InterruptedException {
+		TableServer server = new TableServer(0);
+		List<Socket> players = new ArrayList<Socket>();
+		
+		server.start();
+		
+		try {
+			for (int i = 0; i < 200; i++) {
+				Socket socket = connect(server);
+				players.add(socket);
+				new BufferedReader(new InputStreamReader(socket.getInputStream())).readLine();
+			}
+			assertEquals(200, server.getActiveSessions());
+			
+			for (Socket socket : players) {
+				socket.close();
+			}
+			
+			long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+			while (server.getActiveSessions() > 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertEquals(0, server.getActiveSessions());
+		} finally {
+			server.close();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  A failure to accept a player while the server is
+	 * 		still open doesn't stop it accepting the next one.
+	 **************/
+	@Test
+	public void testAcceptFailure() throws IOException {
+		TableServer server = new TableServer(0) {
+			private boolean failed = false;
+			
+			@Override
+			protected Socket acceptPlayer() throws IOException {
+				if (!failed) {
+					failed = true;
+					throw new SocketException("Too many open files");
+				}
+				
+				return super.acceptPlayer();
+			}
+		};
+		
+		server.start();
+		
+		try (Socket socket = connect(server)) {
+			String line = new BufferedReader(new InputStreamReader(socket.getInputStream())).readLine();
+			
+			assertTrue(line.startsWith("Would you like to use"));
+			assertEquals(1, server.getAcceptFailures());
+		} finally {
+			server.close();
+		}
+	}
+	
+	
+	/**************
+	 * Purpose:  Virtual threads are only used when the JVM has them.
+	 **************/
+	@Test
+	public void testVirtualThreads() throws IOException {
+		TableServer server = new TableServer(0);
+		boolean available = true;
+		
+		try {
+			Thread.class.getMethod("ofVirtual");
+		} catch (NoSuchMethodException e) {
+			available = false;
+		}
+		
+		assertEquals(available, server.usesVirtualThreads());
+		server.close();
+	}
+	
+	
+	private Socket connect(TableServer server) throws IOException {
+		Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+		socket.setSoTimeout(TIMEOUT_MILLIS);
+		return socket;
+	}
+	
+	
+	private String readUntilClosed(BufferedReader in) throws IOException {
+		String line = in.readLine();
+		
+		while (line != null && line.trim().isEmpty()) {
+			line = in.readLine();
+		}
+		
+		return line;
+	}
+}
@@ -0,0 +1,79 @@
+package core;
+
+import org.junit.Test;
+import junit.framework.TestCase;
+
+public class TournamentClassTests extends TestCase {
+	
+	/**************
+	 * Purpose:  Two entrants playing the same way get exactly the
+	 * 		same cards, so their difference has no noise at all.
+	 **************/
+	@Test
+	public void testSameStrategyTies() {
+		Tournament tournament = new Tournament(6);
+		tournament.add("first", Tournament.named("table", 6, Rules.DEFAULT));
+		tournament.add("second", Tournament.named("table", 6, Rules.DEFAULT));
+		
+		Tournament.Results results = tournament.run(25001, 2, 11);
+		
+		assertEquals(25001, results.getRounds());
+		assertEquals(results.getEv(0), results.getEv(1));
+		assertEquals(0.0, results.getDifference(0, 1));
+		assertEquals(0.0, results.getPairedError(0, 1));
+		assertTrue(results.getIndependentError(0, 1) > 0);
+	}
+	
+	
+	/**************
+	 * Purpose:  The strategy table beats hitting to 17, and pairing
+	 * 		the rounds gives a tighter interval than independent
+	 * 		rounds would.
+	 **************/
+	@Test
+	public void testTableBeatsStand17() {
+		Tournament tournament = new Tournament(1);
+		tournament.add("table", Tournament.named("table", 1, Rules.DEFAULT));
+		tournament.add("stand17", Tournament.named("stand17", 1, Rules.DEFAULT));
+		
+		Tournament.Results results = tournament.run(100000, 4, 3);
+		
+		assertTrue(results.getDifference(0, 1) - results.getPairedError(0, 1) > 0);
+		assertEquals(-results.getDifference(0, 1), results.getDifference(1, 0));
+		assertTrue(results.getPairedError(0, 1) < results.getIndependentError(0, 1));
+		assertTrue(results.getReport().contains("table - stand17: +"));
+	}
+	
+	
+	/**************
+	 * Purpose:  The same seed gives the same results on any number
+	 * 		of threads, even for an entrant that plays at random.
+	 **************/
+	@Test
+	public void testSeededAcrossThreads() {
+		Tournament tournament = new Tournament(1);
+		tournament.add("dealer", Tournament.named("dealer", 1, Rules.DEFAULT));
+		tournament.add("stand12", Tournament.named("Stand12", 1, Rules.DEFAULT));
+		tournament.add("random", Tournament.named("random", 1, Rules.DEFAULT));
+		
+		Tournament.Results first = tournament.run(30000, 1, 5);
+		Tournament.Results second = tournament.run(30000, 3, 5);
+		
+		assertEquals(first.getEv(0), second.getEv(0));
+		assertEquals(first.getDifference(0, 1), second.getDifference(0, 1));
+		assertEquals(first.getPairedError(0, 1), second.getPairedError(0, 1));
+		assertEquals(first.getEv(2), second.getEv(2));
+		assertEquals(first.getDifference(0, 2), second.getDifference(0, 2));
+	}
+	
+	
+	@Test
+	public void testUnknownStrategy() {
+		try {
+			Tournament.named("martingale", 1, Rules.DEFAULT);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Unknown strategy: martingale", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package core;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**************
+ * Purpose:  A HandEvaluator that scores as many hands per
+ * 		instruction as the CPU's vectors hold. Only compiled with
+ * 		the vector profile; load it with HandEvaluator.best().
+ **************/
+public class VectorHandEvaluator implements HandEvaluator {
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+	
+	@Override
+	public void evaluate(int[] hardTotal, int[] aces, boolean[] alreadyHit, 
+						 int[] score, boolean[] soft, int[] state, int from, int to) {
+		IntVector safe = IntVector.broadcast(SPECIES, SAFE);
+		int h = from;
+		
+		for (; h < from + SPECIES.loopBound(to - from); h += SPECIES.length()) {
+			IntVector hard = IntVector.fromArray(SPECIES, hardTotal, h);
+			IntVector high = hard.add(10);
+			VectorMask<Integer> isSoft = IntVector.fromArray(SPECIES, aces, h).compare(VectorOperators.GT, 0)
+												  .and(high.compare(VectorOperators.LE, 21));
+			IntVector total = hard.blend(high, isSoft);
+			VectorMask<Integer> hit = VectorMask.fromArray(SPECIES, alreadyHit, h);
+			VectorMask<Integer> blackjack = total.compare(VectorOperators.EQ, 21).and(isSoft).andNot(hit);
+			
+			total.intoArray(score, h);
+			isSoft.intoArray(soft, h);
+			safe.blend(BLACKJACK, blackjack)
+				.blend(BUSTED, total.compare(VectorOperators.GT, 21))
+				.intoArray(state, h);
+		}
+		
+		HandEvaluator.scalar().evaluate(hardTotal, aces, alreadyHit, score, soft, state, h, to);
+	}
+}